@@ -1,16 +1,36 @@
 package io.github.projectunified.minigamecore.base;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * The arena. The unit that handles the game
+ * The arena. The unit that handles the game.
+ * The arena is also an {@link Executor}: the tasks submitted by {@link #execute(Runnable)} are run
+ * on the thread that runs the arena, at the start of the next tick.
  */
-public class Arena extends FeatureUnit implements Runnable {
+public class Arena extends FeatureUnit implements Runnable, Executor {
     private final AtomicReference<Class<? extends GameState>> currentState = new AtomicReference<>();
-    private final AtomicReference<Class<? extends GameState>> nextState = new AtomicReference<>();
+    private final AtomicReference<Transition> nextTransition = new AtomicReference<>();
+    private volatile GameState cachedCurrentState;
+    private volatile int currentStateId = -1;
+    private volatile boolean[][] transitionTable;
+    private volatile ResolutionIndex stateIdIndex;
+    private volatile Map<Class<? extends GameState>, Collection<Class<? extends GameState>>> transitions = Collections.emptyMap();
+    private volatile ArenaMetrics metrics;
+    private final Object sleepLock = new Object();
+    private volatile boolean sleeping;
+    private volatile boolean closed = true;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingTaskCount = new AtomicInteger();
 
     /**
      * Create a new arena
@@ -57,6 +77,48 @@ public class Arena extends FeatureUnit implements Runnable {
         // Override this method to do something
     }
 
+    /**
+     * Called when the arena is put to sleep.
+     * Override this to stop the task that runs the arena.
+     * This is never called concurrently with {@link #onWake()}.
+     */
+    protected void onSleep() {
+        // Override this method to do something
+    }
+
+    /**
+     * Called when the arena is woken up.
+     * Override this to restart the task that runs the arena.
+     * This is never called concurrently with {@link #onSleep()}.
+     */
+    protected void onWake() {
+        // Override this method to do something
+    }
+
+    /**
+     * Handle the exception thrown by a task submitted by {@link #execute(Runnable)}.
+     * Default will pass it to the uncaught exception handler of the current thread without stopping the arena.
+     *
+     * @param task      the task
+     * @param throwable the exception
+     */
+    protected void handleTaskException(Runnable task, Throwable throwable) {
+        Thread thread = Thread.currentThread();
+        thread.getUncaughtExceptionHandler().uncaughtException(thread, throwable);
+    }
+
+    /**
+     * Called when the arena's state has changed, before {@link GameState#end(Arena)} of the old state
+     * and {@link GameState#start(Arena)} of the new state.
+     * This is usually used to adjust the arena to the new state, e.g. rescheduling the task that runs the arena.
+     *
+     * @param oldState the old state (may be null)
+     * @param newState the new state
+     */
+    protected void onStateChanged(GameState oldState, GameState newState) {
+        // Override this method to do something
+    }
+
     /**
      * Called when the arena's state is about to change.
      * This is usually used to perform actions or validations on state transitions.
@@ -70,6 +132,20 @@ public class Arena extends FeatureUnit implements Runnable {
         return true;
     }
 
+    /**
+     * Load the allowed transitions of the arena, which map a state to the states it can change to.
+     * The transitions are compiled into a table when the game states of the arena are indexed (see {@link FeatureUnit#init()}),
+     * and a pending state that is not allowed from the current state is discarded.
+     * The transitions are not checked while the parents of the arena are not initialized.
+     * A state that is not a key of the map can change to any state.
+     * Default is an empty map, which allows all transitions.
+     *
+     * @return the allowed transitions
+     */
+    protected Map<Class<? extends GameState>, Collection<Class<? extends GameState>>> loadTransitions() {
+        return Collections.emptyMap();
+    }
+
     /**
      * Check if the arena is valid.
      * Mainly called when the arena is being registered to the arena manager.
@@ -92,10 +168,80 @@ public class Arena extends FeatureUnit implements Runnable {
 
     @Override
     public final void init() {
+        synchronized (sleepLock) {
+            closed = false;
+        }
         super.init();
+        this.transitions = loadTransitions();
+        ResolutionIndex index = getResolutionIndex();
+        this.stateIdIndex = index;
+        this.transitionTable = compileTransitions(index, true);
         initArena();
     }
 
+    private boolean[][] compileTransitions(ResolutionIndex index, boolean strict) {
+        if (index == null || transitions.isEmpty()) {
+            return null;
+        }
+        int maxId = -1;
+        for (Map.Entry<Class<? extends GameState>, Collection<Class<? extends GameState>>> entry : transitions.entrySet()) {
+            maxId = Math.max(maxId, resolveStateId(index, entry.getKey(), strict));
+            for (Class<? extends GameState> targetClass : entry.getValue()) {
+                maxId = Math.max(maxId, resolveStateId(index, targetClass, strict));
+            }
+        }
+        boolean[][] table = new boolean[maxId + 1][];
+        for (Map.Entry<Class<? extends GameState>, Collection<Class<? extends GameState>>> entry : transitions.entrySet()) {
+            int sourceId = resolveStateId(index, entry.getKey(), strict);
+            if (sourceId < 0) {
+                continue;
+            }
+            boolean[] row = table[sourceId];
+            if (row == null) {
+                row = new boolean[maxId + 1];
+                table[sourceId] = row;
+            }
+            for (Class<? extends GameState> targetClass : entry.getValue()) {
+                int targetId = resolveStateId(index, targetClass, strict);
+                if (targetId >= 0) {
+                    row[targetId] = true;
+                }
+            }
+        }
+        return table;
+    }
+
+    private static int resolveStateId(ResolutionIndex index, Class<? extends GameState> stateClass, boolean strict) {
+        int stateId = index.getGameStateId(stateClass);
+        if (stateId < 0 && strict) {
+            throw new IllegalStateException("The game state " + stateClass.getName() + " in the transitions is not registered");
+        }
+        return stateId;
+    }
+
+    /**
+     * Reassign the ids of the arena after the index of the arena is rebuilt or dropped, which happens when a parent is cleared or initialized.
+     * Called on the thread that runs the arena.
+     *
+     * @param index the current index
+     */
+    private void remapStateIds(ResolutionIndex index) {
+        this.stateIdIndex = index;
+        Class<? extends GameState> stateClass = currentState.get();
+        this.currentStateId = stateClass == null || index == null ? -1 : index.getGameStateId(stateClass);
+        this.cachedCurrentState = null;
+        this.transitionTable = compileTransitions(index, false);
+    }
+
+    private boolean isTransitionAllowed(int sourceId, int targetId) {
+        boolean[][] table = this.transitionTable;
+        if (table == null || sourceId < 0 || sourceId >= table.length || table[sourceId] == null) {
+            return true;
+        }
+        boolean[] row = table[sourceId];
+        return targetId < row.length && row[targetId];
+    }
+
     @Override
     public final void postInit() {
         super.postInit();
@@ -104,25 +250,248 @@ public class Arena extends FeatureUnit implements Runnable {
 
     @Override
     public final void clear() {
+        synchronized (sleepLock) {
+            closed = true;
+            sleeping = false;
+        }
         clearArena();
         super.clear();
+        currentState.set(null);
+        nextTransition.set(null);
+        cachedCurrentState = null;
+        currentStateId = -1;
+        transitionTable = null;
+        stateIdIndex = null;
+        transitions = Collections.emptyMap();
+        // Discard the tasks one by one, so the count of the tasks submitted concurrently is kept
+        while (mailbox.poll() != null) {
+            pendingTaskCount.decrementAndGet();
+        }
     }
 
     @Override
     public final void run() {
-        Optional<GameState> currentStateOptional = getCurrentStateInstance();
-        Optional<GameState> nextStateOptional = getNextStateInstance();
-        if (nextStateOptional.isPresent()) {
-            GameState nextStateInstance = nextStateOptional.get();
-            if (callStateChanged(currentStateOptional.orElse(null), nextStateInstance)) {
-                currentState.set(nextStateInstance.getClass());
-                nextState.set(null);
-                currentStateOptional.ifPresent(gameState -> gameState.end(this));
-                nextStateInstance.start(this);
+        ArenaMetrics currentMetrics = this.metrics;
+        if (currentMetrics == null) {
+            tick(null);
+            return;
+        }
+
+        // Charge the tick to the state it started in, which is the one that ran the transition or the update
+        Class<? extends GameState> stateClass = currentState.get();
+        long startTime = System.nanoTime();
+        tick(currentMetrics);
+        long elapsed = System.nanoTime() - startTime;
+        currentMetrics.recordTick(stateClass, elapsed);
+    }
+
+    private void tick(ArenaMetrics currentMetrics) {
+        drainMailbox();
+        ResolutionIndex index = getResolutionIndex();
+        if (index != stateIdIndex) {
+            remapStateIds(index);
+        }
+        GameState currentStateInstance = resolveCurrentStateInstance();
+        Transition transition = nextTransition.get();
+        if (transition != null && transition.expectedState != null && !isExpectedState(transition, index, currentStateInstance)) {
+            nextTransition.compareAndSet(transition, null);
+            transition = null;
+        }
+        if (transition != null) {
+            int nextStateId = transition.index == index ? transition.stateId : getGameStateId(transition.state);
+            GameState nextStateInstance = nextStateId >= 0 ? getGameState(nextStateId) : getGameState(transition.state);
+            if (nextStateInstance != null && !isTransitionAllowed(currentStateId, nextStateId)) {
+                nextTransition.compareAndSet(transition, null);
+                if (currentMetrics != null) {
+                    currentMetrics.recordRejectedTransition();
+                }
+            } else if (nextStateInstance != null) {
+                boolean changed = callStateChanged(currentStateInstance, nextStateInstance);
+                if (currentMetrics != null) {
+                    currentMetrics.recordTransition(!changed);
+                }
+                if (changed) {
+                    Class<? extends GameState> oldStateClass = currentState.get();
+                    currentState.set(nextStateInstance.getClass());
+                    this.cachedCurrentState = nextStateInstance;
+                    this.currentStateId = nextStateId;
+                    nextTransition.compareAndSet(transition, null);
+                    notifyStateListeners(oldStateClass, nextStateInstance.getClass());
+                    onStateChanged(currentStateInstance, nextStateInstance);
+                    if (currentStateInstance != null) {
+                        currentStateInstance.end(this);
+                    }
+                    nextStateInstance.start(this);
+                    sleepIfIdle(nextStateInstance);
+                    return;
+                }
+            }
+        }
+        if (currentStateInstance != null) {
+            currentStateInstance.update(this);
+            sleepIfIdle(currentStateInstance);
+        }
+    }
+
+    private boolean isExpectedState(Transition transition, ResolutionIndex index, GameState currentStateInstance) {
+        if (transition.index == index && transition.expectedStateId >= 0) {
+            return transition.expectedStateId == currentStateId;
+        }
+        GameState expectedStateInstance = getGameState(transition.expectedState);
+        return expectedStateInstance != null && expectedStateInstance == currentStateInstance;
+    }
+
+    private void drainMailbox() {
+        int count = pendingTaskCount.get();
+        if (count <= 0) {
+            return;
+        }
+        int drained = 0;
+        while (drained < count) {
+            Runnable task = mailbox.poll();
+            if (task == null) {
+                break;
+            }
+            drained++;
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                handleTaskException(task, throwable);
+            }
+        }
+        pendingTaskCount.addAndGet(-drained);
+    }
+
+    /**
+     * Submit the task to be run on the thread that runs the arena, at the start of the next tick.
+     * The tasks are run in the order they are submitted. This will wake the arena up if it's sleeping.
+     * The pending tasks are discarded when the arena is cleared.
+     *
+     * @param task the task
+     */
+    @Override
+    public void execute(Runnable task) {
+        mailbox.add(task);
+        pendingTaskCount.incrementAndGet();
+        wake();
+    }
+
+    /**
+     * Get the number of the tasks submitted by {@link #execute(Runnable)} that are not run yet
+     *
+     * @return the number of the pending tasks
+     */
+    public int getPendingTaskCount() {
+        return Math.max(0, pendingTaskCount.get());
+    }
+
+    private boolean hasPendingWork() {
+        return nextTransition.get() != null || !mailbox.isEmpty();
+    }
+
+    private void sleepIfIdle(GameState stateInstance) {
+        if (hasPendingWork() || !stateInstance.isIdle(this)) {
+            return;
+        }
+        sleep();
+    }
+
+    /**
+     * Put the arena to sleep until it's woken up, regardless of its current state.
+     * The arena is woken up right away if it has pending work.
+     * This does nothing if the arena is closed or already sleeping.
+     *
+     * @see #wake()
+     */
+    public void sleep() {
+        synchronized (sleepLock) {
+            if (sleeping || closed) {
+                return;
+            }
+            sleeping = true;
+            onSleep();
+        }
+        if (hasPendingWork()) {
+            wake();
+        }
+    }
+
+    /**
+     * Wake the arena up if it's sleeping
+     *
+     * @see GameState#isIdle(Arena)
+     */
+    public void wake() {
+        if (!sleeping) {
+            return;
+        }
+        synchronized (sleepLock) {
+            if (!sleeping || closed) {
                 return;
             }
+            sleeping = false;
+            onWake();
+        }
+    }
+
+    /**
+     * Check if the arena is closed, which means it's not initialized yet or it's cleared.
+     * A closed arena is never woken up, so the task that runs the arena should not be started.
+     *
+     * @return true if it is
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Check if the arena is sleeping, which means it's not ticked until it's woken up
+     *
+     * @return true if it is
+     * @see GameState#isIdle(Arena)
+     */
+    public boolean isSleeping() {
+        return sleeping;
+    }
+
+    private void notifyStateListeners(Class<? extends GameState> oldStateClass, Class<? extends GameState> newStateClass) {
+        List<FeatureUnit> parentList = getParentList();
+        for (int i = 0; i < parentList.size(); i++) {
+            StateListener listener = parentList.get(i).getStateListener();
+            if (listener != null) {
+                listener.onStateChanged(this, oldStateClass, newStateClass);
+            }
+        }
+    }
+
+    /**
+     * Resolve the instance of the current game state.
+     * The instance is cached until the state is changed or the arena is cleared.
+     * Only called on the thread that runs the arena, so the cache is never filled with a state that is already replaced.
+     *
+     * @return the instance of the current game state, or null if there is no state
+     */
+    private GameState resolveCurrentStateInstance() {
+        GameState instance = this.cachedCurrentState;
+        if (instance == null) {
+            Class<? extends GameState> stateClass = currentState.get();
+            if (stateClass != null) {
+                instance = getGameState(stateClass);
+                this.cachedCurrentState = instance;
+            }
         }
-        currentStateOptional.ifPresent(gameState -> gameState.update(this));
+        return instance;
+    }
+
+    /**
+     * Look up the instance of the current game state without caching it.
+     * Used by the callers that may not run on the thread that runs the arena.
+     *
+     * @return the instance of the current game state, or null if there is no state
+     */
+    private GameState lookupCurrentStateInstance() {
+        Class<? extends GameState> stateClass = currentState.get();
+        return stateClass == null ? null : getGameState(stateClass);
     }
 
     /**
@@ -134,13 +503,47 @@ public class Arena extends FeatureUnit implements Runnable {
         return this.currentState.get();
     }
 
+    /**
+     * Get the id of the current game state of the arena.
+     * The id is reassigned on the next tick after a parent of the arena is cleared or initialized again.
+     *
+     * @return the id, or -1 if there is no state or the game states of the arena are not indexed
+     * @see FeatureUnit#getGameStateId(Class)
+     */
+    public int getCurrentStateId() {
+        return this.currentStateId;
+    }
+
+    /**
+     * Check if the arena is in the game state
+     *
+     * @param stateId the id of the game state
+     * @return true if the current game state has the id
+     * @see FeatureUnit#getGameStateId(Class)
+     */
+    public boolean isInState(int stateId) {
+        return this.currentStateId == stateId;
+    }
+
+    /**
+     * Check if the arena is in the game state.
+     * The state matches if its class is the class or a subclass of it, the same as the classes the state is registered under.
+     *
+     * @param stateClass the class of the game state
+     * @return true if the current game state is of the class
+     */
+    public boolean isInState(Class<? extends GameState> stateClass) {
+        Class<? extends GameState> currentStateClass = this.currentState.get();
+        return currentStateClass != null && (currentStateClass == stateClass || stateClass.isAssignableFrom(currentStateClass));
+    }
+
     /**
      * Get the instance of the current game state of the arena
      *
      * @return the instance of the game state
      */
     public Optional<GameState> getCurrentStateInstance() {
-        return Optional.ofNullable(getCurrentState()).map(this::getGameState);
+        return Optional.ofNullable(lookupCurrentStateInstance());
     }
 
     /**
@@ -149,16 +552,90 @@ public class Arena extends FeatureUnit implements Runnable {
      * @return the class of the game state
      */
     public Class<? extends GameState> getNextState() {
-        return this.nextState.get();
+        Transition transition = this.nextTransition.get();
+        return transition == null ? null : transition.state;
     }
 
     /**
      * Set the next game state of the arena.
+     * This replaces the pending state regardless of its priority.
+     * This will wake the arena up if it's sleeping.
      *
-     * @param stateClass the class of the game state
+     * @param stateClass the class of the game state, or null to discard the pending state
      */
     public void setNextState(Class<? extends GameState> stateClass) {
-        this.nextState.lazySet(stateClass);
+        if (stateClass == null) {
+            this.nextTransition.set(null);
+            return;
+        }
+        this.nextTransition.set(new Transition(getResolutionIndex(), stateClass, null, 0));
+        wake();
+    }
+
+    /**
+     * Set the next game state of the arena with the priority.
+     * The state replaces the pending state only if its priority is not lower than the pending one.
+     * This will wake the arena up if it's sleeping.
+     *
+     * @param stateClass the class of the game state
+     * @param priority   the priority of the state
+     * @return true if the state is set as the pending state
+     */
+    public boolean setNextState(Class<? extends GameState> stateClass, int priority) {
+        return offerTransition(new Transition(getResolutionIndex(), Objects.requireNonNull(stateClass), null, priority));
+    }
+
+    /**
+     * Set the next game state of the arena only if the current state is the expected state.
+     * The condition is checked again when the state is about to change, and the state is discarded if it no longer holds.
+     * This will wake the arena up if it's sleeping.
+     *
+     * @param expectedState the class of the expected current state
+     * @param stateClass    the class of the game state
+     * @return true if the state is set as the pending state
+     */
+    public boolean setNextStateIf(Class<? extends GameState> expectedState, Class<? extends GameState> stateClass) {
+        return setNextStateIf(expectedState, stateClass, 0);
+    }
+
+    /**
+     * Set the next game state of the arena with the priority, only if the current state is the expected state.
+     * The state replaces the pending state only if its priority is not lower than the pending one.
+     * The condition is checked again when the state is about to change, and the state is discarded if it no longer holds.
+     * This will wake the arena up if it's sleeping.
+     *
+     * @param expectedState the class of the expected current state
+     * @param stateClass    the class of the game state
+     * @param priority      the priority of the state
+     * @return true if the state is set as the pending state
+     */
+    public boolean setNextStateIf(Class<? extends GameState> expectedState, Class<? extends GameState> stateClass, int priority) {
+        ResolutionIndex index = getResolutionIndex();
+        Transition transition = new Transition(index, Objects.requireNonNull(stateClass), Objects.requireNonNull(expectedState), priority);
+        if (transition.index == stateIdIndex && transition.expectedStateId >= 0) {
+            if (currentStateId != transition.expectedStateId) {
+                return false;
+            }
+        } else {
+            GameState expectedStateInstance = getGameState(expectedState);
+            if (expectedStateInstance == null || expectedStateInstance != lookupCurrentStateInstance()) {
+                return false;
+            }
+        }
+        return offerTransition(transition);
+    }
+
+    private boolean offerTransition(Transition transition) {
+        while (true) {
+            Transition pending = nextTransition.get();
+            if (pending != null && pending.priority > transition.priority) {
+                return false;
+            }
+            if (nextTransition.compareAndSet(pending, transition)) {
+                wake();
+                return true;
+            }
+        }
     }
 
     /**
@@ -169,4 +646,47 @@ public class Arena extends FeatureUnit implements Runnable {
     public Optional<GameState> getNextStateInstance() {
         return Optional.ofNullable(getNextState()).map(this::getGameState);
     }
+
+    /**
+     * Get the tick metrics of the arena
+     *
+     * @return the metrics, or null if the arena is not instrumented
+     */
+    public ArenaMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Set the tick metrics of the arena.
+     * If set, the latency of every {@link #run()} and the state transitions will be recorded.
+     *
+     * @param metrics the metrics, or null to disable the instrumentation
+     */
+    public void setMetrics(ArenaMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * The pending transition of the arena.
+     * A new instance is created for every request, so committing a transition never clears a newer request.
+     * The ids are assigned by the index of the arena when the transition is requested.
+     * If the index is changed or absent by the time the transition is run, the states are resolved by their classes instead.
+     */
+    private static final class Transition {
+        private final ResolutionIndex index;
+        private final Class<? extends GameState> state;
+        private final int stateId;
+        private final Class<? extends GameState> expectedState;
+        private final int expectedStateId;
+        private final int priority;
+
+        private Transition(ResolutionIndex index, Class<? extends GameState> state, Class<? extends GameState> expectedState, int priority) {
+            this.index = index;
+            this.state = state;
+            this.stateId = index == null ? -1 : index.getGameStateId(state);
+            this.expectedState = expectedState;
+            this.expectedStateId = index == null || expectedState == null ? -1 : index.getGameStateId(expectedState);
+            this.priority = priority;
+        }
+    }
 }
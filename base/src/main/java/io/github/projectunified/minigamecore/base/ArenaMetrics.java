@@ -0,0 +1,110 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The tick metrics of an {@link Arena}.
+ * Set it to the arena by {@link Arena#setMetrics(ArenaMetrics)} to record the latency of {@link Arena#run()}.
+ */
+public class ArenaMetrics {
+    private final LatencyHistogram tickHistogram = new LatencyHistogram();
+    private final Map<Class<? extends GameState>, LatencyHistogram> stateHistogramMap = new ConcurrentHashMap<>();
+    private final AtomicLong transitionCount = new AtomicLong();
+    private final AtomicLong cancelledTransitionCount = new AtomicLong();
+    private final AtomicLong rejectedTransitionCount = new AtomicLong();
+
+    /**
+     * Record a tick of the arena
+     *
+     * @param stateClass the class of the game state that handled the tick, or null if there is no state
+     * @param nanos      the latency of the tick in nanoseconds
+     */
+    public void recordTick(Class<? extends GameState> stateClass, long nanos) {
+        tickHistogram.record(nanos);
+        if (stateClass != null) {
+            LatencyHistogram stateHistogram = stateHistogramMap.get(stateClass);
+            if (stateHistogram == null) {
+                stateHistogram = stateHistogramMap.computeIfAbsent(stateClass, k -> new LatencyHistogram());
+            }
+            stateHistogram.record(nanos);
+        }
+    }
+
+    /**
+     * Record a state transition
+     *
+     * @param cancelled whether the transition is cancelled by {@link Arena#callStateChanged(GameState, GameState)}
+     */
+    public void recordTransition(boolean cancelled) {
+        (cancelled ? cancelledTransitionCount : transitionCount).incrementAndGet();
+    }
+
+    /**
+     * Record a state transition rejected by the transition table of the arena
+     *
+     * @see Arena#loadTransitions()
+     */
+    public void recordRejectedTransition() {
+        rejectedTransitionCount.incrementAndGet();
+    }
+
+    /**
+     * Get the histogram of all ticks
+     *
+     * @return the histogram
+     */
+    public LatencyHistogram getTickHistogram() {
+        return tickHistogram;
+    }
+
+    /**
+     * Get the histograms of the ticks by the class of the game state
+     *
+     * @return the histograms
+     */
+    public Map<Class<? extends GameState>, LatencyHistogram> getStateHistograms() {
+        return Collections.unmodifiableMap(stateHistogramMap);
+    }
+
+    /**
+     * Get the number of committed state transitions
+     *
+     * @return the number of transitions
+     */
+    public long getTransitionCount() {
+        return transitionCount.get();
+    }
+
+    /**
+     * Get the number of state transitions cancelled by {@link Arena#callStateChanged(GameState, GameState)}
+     *
+     * @return the number of cancelled transitions
+     */
+    public long getCancelledTransitionCount() {
+        return cancelledTransitionCount.get();
+    }
+
+    /**
+     * Get the number of state transitions rejected by the transition table of the arena
+     *
+     * @return the number of rejected transitions
+     * @see Arena#loadTransitions()
+     */
+    public long getRejectedTransitionCount() {
+        return rejectedTransitionCount.get();
+    }
+
+    /**
+     * Reset the metrics
+     */
+    public void reset() {
+        tickHistogram.reset();
+        stateHistogramMap.clear();
+        transitionCount.set(0);
+        cancelledTransitionCount.set(0);
+        rejectedTransitionCount.set(0);
+    }
+}
@@ -0,0 +1,137 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.function.ToLongFunction;
+
+/**
+ * The repeating task that runs an {@link Arena} on the scheduler of a platform.
+ * The task is started when the arena is initialized, cancelled while the arena is sleeping or when it's cleared,
+ * started again when the arena is woken up, and rescheduled when the period of the new state differs from the scheduled one.
+ * The platform arenas forward their hooks to it, so the task is always started and cancelled under the same lock.
+ */
+public final class ArenaTask {
+    private final Arena arena;
+    private final Scheduler scheduler;
+    private final ToLongFunction<GameState> delayFunction;
+    private final ToLongFunction<GameState> periodFunction;
+    private final long wakeDelay;
+    private final Object lock = new Object();
+    private Handle handle;
+    private long scheduledPeriod;
+
+    /**
+     * Create a new task
+     *
+     * @param arena          the arena
+     * @param scheduler      the scheduler to start the task that runs the arena
+     * @param delayFunction  the function to get the delay before the first run from the state, which may be null
+     * @param periodFunction the function to get the period between the runs from the state, which may be null
+     * @param wakeDelay      the delay before the first run after the arena is woken up
+     */
+    public ArenaTask(Arena arena, Scheduler scheduler, ToLongFunction<GameState> delayFunction, ToLongFunction<GameState> periodFunction, long wakeDelay) {
+        this.arena = arena;
+        this.scheduler = scheduler;
+        this.delayFunction = delayFunction;
+        this.periodFunction = periodFunction;
+        this.wakeDelay = wakeDelay;
+    }
+
+    private GameState getCurrentState() {
+        return arena.getCurrentStateInstance().orElse(null);
+    }
+
+    /**
+     * Start the task with the delay and the period of the current state.
+     * Call this in {@link Arena#initArena()}.
+     */
+    public void start() {
+        GameState state = getCurrentState();
+        schedule(delayFunction.applyAsLong(state), periodFunction.applyAsLong(state));
+    }
+
+    /**
+     * Start the task again after the arena is woken up.
+     * Call this in {@link Arena#onWake()}.
+     */
+    public void wake() {
+        schedule(wakeDelay, periodFunction.applyAsLong(getCurrentState()));
+    }
+
+    /**
+     * Reschedule the running task if the period of the new state differs from the scheduled one.
+     * Call this in {@link Arena#onStateChanged(GameState, GameState)}.
+     *
+     * @param newState the new state
+     */
+    public void reschedule(GameState newState) {
+        synchronized (lock) {
+            long period = periodFunction.applyAsLong(newState);
+            if (handle == null || period == scheduledPeriod) {
+                return;
+            }
+            schedule(delayFunction.applyAsLong(newState), period);
+        }
+    }
+
+    /**
+     * Cancel the task.
+     * Call this in {@link Arena#onSleep()} and {@link Arena#clearArena()}.
+     */
+    public void cancel() {
+        synchronized (lock) {
+            Handle currentHandle = this.handle;
+            if (currentHandle != null) {
+                currentHandle.cancel();
+                this.handle = null;
+            }
+        }
+    }
+
+    /**
+     * Check if the task is scheduled
+     *
+     * @return true if it is
+     */
+    public boolean isScheduled() {
+        synchronized (lock) {
+            return handle != null;
+        }
+    }
+
+    private void schedule(long delay, long period) {
+        synchronized (lock) {
+            if (arena.isClosed()) {
+                return;
+            }
+            cancel();
+            this.handle = scheduler.schedule(delay, period);
+            this.scheduledPeriod = period;
+        }
+    }
+
+    /**
+     * The scheduler of the platform that starts the task
+     */
+    @FunctionalInterface
+    public interface Scheduler {
+        /**
+         * Start the repeating task that runs the arena.
+         * This is called while the lock of the task is held, so it's never called concurrently with the cancellation of the task.
+         *
+         * @param delay  the delay before the first run
+         * @param period the period between the runs
+         * @return the handle to cancel the task, or null if the task is not started
+         */
+        Handle schedule(long delay, long period);
+    }
+
+    /**
+     * The handle of a started task
+     */
+    @FunctionalInterface
+    public interface Handle {
+        /**
+         * Cancel the task
+         */
+        void cancel();
+    }
+}
@@ -0,0 +1,202 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * The event bus of a {@link FeatureUnit}, which lets the features and the game states of the unit communicate without knowing each other.
+ * The handlers of an event class, including the handlers of its super classes and interfaces, are resolved into an array,
+ * so publishing an event is a plain loop over the array.
+ * The arrays of the subscribed event classes are resolved when the unit is post-initialized.
+ * The arrays of the other classes, such as the subclasses of the subscribed classes, can only be known from the published events,
+ * so they are resolved on the first publish of each class and cached until the handlers are changed.
+ * The event bus is created on the first {@link FeatureUnit#getEventBus()}, and the published events are propagated to the event buses of the ancestor units, skipping the units that have not created one.
+ * The handlers are run on the thread that publishes the event, and their exceptions are thrown to the publisher.
+ *
+ * @see EventSubscriber
+ */
+public final class EventBus {
+    /**
+     * The cached super classes and interfaces of the event classes, from the class itself
+     */
+    private static final ClassValue<Class<?>[]> EVENT_HIERARCHIES = new ClassValue<Class<?>[]>() {
+        @Override
+        protected Class<?>[] computeValue(Class<?> type) {
+            Set<Class<?>> classSet = new LinkedHashSet<>();
+            Queue<Class<?>> classQueue = new ArrayDeque<>();
+            classSet.add(type);
+            classQueue.add(type);
+            while (!classQueue.isEmpty()) {
+                Class<?> currentClass = classQueue.poll();
+                Class<?> superClass = currentClass.getSuperclass();
+                if (superClass != null && classSet.add(superClass)) {
+                    classQueue.add(superClass);
+                }
+                for (Class<?> superInterface : currentClass.getInterfaces()) {
+                    if (classSet.add(superInterface)) {
+                        classQueue.add(superInterface);
+                    }
+                }
+            }
+            return classSet.toArray(new Class<?>[0]);
+        }
+    };
+    private static final Consumer<?>[] EMPTY_HANDLERS = new Consumer<?>[0];
+
+    private final FeatureUnit unit;
+    private final Map<Class<?>, List<Consumer<?>>> handlerMap = new IdentityHashMap<>();
+    private final Map<Class<?>, Consumer<?>[]> dispatchCache = new ConcurrentHashMap<>();
+    private volatile FeatureUnit[] ancestors;
+
+    EventBus(FeatureUnit unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Subscribe the handler to the event class.
+     * The handler also receives the events of the subclasses of the event class.
+     *
+     * @param eventClass the event class
+     * @param handler    the handler
+     * @param <E>        the type of the event
+     */
+    public <E> void subscribe(Class<E> eventClass, Consumer<? super E> handler) {
+        Objects.requireNonNull(eventClass);
+        Objects.requireNonNull(handler);
+        synchronized (handlerMap) {
+            handlerMap.computeIfAbsent(eventClass, k -> new ArrayList<>()).add(handler);
+            dispatchCache.clear();
+        }
+    }
+
+    /**
+     * Unsubscribe the handler from the event class
+     *
+     * @param eventClass the event class
+     * @param handler    the handler
+     * @return true if the handler was subscribed
+     */
+    public boolean unsubscribe(Class<?> eventClass, Consumer<?> handler) {
+        synchronized (handlerMap) {
+            List<Consumer<?>> handlers = handlerMap.get(eventClass);
+            if (handlers == null || !handlers.remove(handler)) {
+                return false;
+            }
+            if (handlers.isEmpty()) {
+                handlerMap.remove(eventClass);
+            }
+            dispatchCache.clear();
+            return true;
+        }
+    }
+
+    /**
+     * Publish the event to the handlers of the unit, then to the event buses of the ancestor units.
+     * Each ancestor receives the event once, even if it's reachable through more than one parent.
+     *
+     * @param event the event
+     */
+    public void publish(Object event) {
+        publishLocal(event);
+        for (FeatureUnit ancestor : getAncestors()) {
+            EventBus ancestorBus = ancestor.peekEventBus();
+            if (ancestorBus != null) {
+                ancestorBus.publishLocal(event);
+            }
+        }
+    }
+
+    /**
+     * Get the ancestor units of the unit, from the parents in order, each followed by its own ancestors, without duplicates.
+     * The parents of a unit never change, so the array is computed once.
+     *
+     * @return the ancestor units
+     */
+    private FeatureUnit[] getAncestors() {
+        FeatureUnit[] currentAncestors = this.ancestors;
+        if (currentAncestors == null) {
+            Set<FeatureUnit> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<FeatureUnit> ancestorList = new ArrayList<>();
+            collectAncestors(unit, visited, ancestorList);
+            currentAncestors = ancestorList.toArray(new FeatureUnit[0]);
+            this.ancestors = currentAncestors;
+        }
+        return currentAncestors;
+    }
+
+    private static void collectAncestors(FeatureUnit unit, Set<FeatureUnit> visited, List<FeatureUnit> ancestorList) {
+        for (FeatureUnit parent : unit.getParentList()) {
+            if (visited.add(parent)) {
+                ancestorList.add(parent);
+                collectAncestors(parent, visited, ancestorList);
+            }
+        }
+    }
+
+    /**
+     * Publish the event to the handlers of the unit only
+     *
+     * @param event the event
+     */
+    @SuppressWarnings("unchecked")
+    public void publishLocal(Object event) {
+        Consumer<?>[] handlers = getHandlers(event.getClass());
+        for (Consumer<?> handler : handlers) {
+            ((Consumer<Object>) handler).accept(event);
+        }
+    }
+
+    /**
+     * Check if the unit has any handler of the event class
+     *
+     * @param eventClass the event class
+     * @return true if it has
+     */
+    public boolean hasHandlers(Class<?> eventClass) {
+        return getHandlers(eventClass).length > 0;
+    }
+
+    private Consumer<?>[] getHandlers(Class<?> eventClass) {
+        Consumer<?>[] handlers = dispatchCache.get(eventClass);
+        if (handlers != null) {
+            return handlers;
+        }
+        synchronized (handlerMap) {
+            handlers = dispatchCache.get(eventClass);
+            if (handlers == null) {
+                List<Consumer<?>> handlerList = new ArrayList<>();
+                for (Class<?> clazz : EVENT_HIERARCHIES.get(eventClass)) {
+                    List<Consumer<?>> classHandlers = handlerMap.get(clazz);
+                    if (classHandlers != null) {
+                        handlerList.addAll(classHandlers);
+                    }
+                }
+                handlers = handlerList.isEmpty() ? EMPTY_HANDLERS : handlerList.toArray(new Consumer<?>[0]);
+                dispatchCache.put(eventClass, handlers);
+            }
+            return handlers;
+        }
+    }
+
+    /**
+     * Resolve the handler arrays of the subscribed event classes
+     */
+    void resolveHandlers() {
+        synchronized (handlerMap) {
+            for (Class<?> eventClass : new ArrayList<>(handlerMap.keySet())) {
+                getHandlers(eventClass);
+            }
+        }
+    }
+
+    /**
+     * Remove all handlers
+     */
+    void clear() {
+        synchronized (handlerMap) {
+            handlerMap.clear();
+            dispatchCache.clear();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The {@link Feature} or {@link GameState} that subscribes to the {@link EventBus} of its unit.
+ * It's subscribed when the unit is post-initialized, or when it's created if it's a {@link LazyFeature}.
+ * The handlers are removed when the unit is cleared.
+ */
+public interface EventSubscriber {
+    /**
+     * Subscribe the handlers to the event bus
+     *
+     * @param eventBus the event bus of the unit
+     */
+    void subscribe(EventBus eventBus);
+}
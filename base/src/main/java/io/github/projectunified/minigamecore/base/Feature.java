@@ -1,7 +1,22 @@
 package io.github.projectunified.minigamecore.base;
 
+import java.util.Collection;
+import java.util.Collections;
+
 /**
  * The feature of the arena
  */
 public interface Feature extends Initializer {
+    /**
+     * Get the classes of the features that this feature depends on.
+     * The dependencies in the same {@link FeatureUnit} are initialized before this feature.
+     * If any feature of the unit declares dependencies, the independent features of the unit are run in parallel,
+     * so their {@link #init()} and {@link #postInit()} must be thread-safe.
+     * The game states of the unit are still run serially after all features.
+     *
+     * @return the classes of the dependencies
+     */
+    default Collection<Class<? extends Feature>> getDependencies() {
+        return Collections.emptyList();
+    }
 }
@@ -0,0 +1,43 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.*;
+
+/**
+ * The {@link FeatureUnit} that only holds features, which is used as a parent of the arenas to share the features.
+ * Initialize the template before the arenas, and clear it after them.
+ *
+ * @see SharedFeature
+ */
+public class FeatureTemplate extends FeatureUnit {
+    private final List<Feature> features;
+
+    /**
+     * Create a new template
+     *
+     * @param features the features
+     * @param parent   the parent {@link FeatureUnit}
+     */
+    public FeatureTemplate(List<? extends Feature> features, FeatureUnit... parent) {
+        super(parent);
+        this.features = Collections.unmodifiableList(new ArrayList<>(features));
+    }
+
+    /**
+     * Create a new template
+     *
+     * @param features the features
+     */
+    public FeatureTemplate(Feature... features) {
+        this(Arrays.asList(features));
+    }
+
+    @Override
+    protected List<GameState> loadGameStates() {
+        return Collections.emptyList();
+    }
+
+    @Override
+    protected List<Feature> loadFeatures() {
+        return features;
+    }
+}
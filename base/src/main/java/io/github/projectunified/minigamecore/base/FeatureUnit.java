@@ -1,16 +1,52 @@
 package io.github.projectunified.minigamecore.base;
 
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.Consumer;
 
 /**
  * A unit to handle the arena {@link Feature} and {@link GameState}
  */
 public abstract class FeatureUnit implements Initializer {
+    /**
+     * The cached super classes of the game state classes.
+     * {@link ClassValue} keeps the value along with the class, so it doesn't prevent the class from being unloaded.
+     */
+    private static final ClassValue<List<Class<? extends GameState>>> GAME_STATE_SUPER_CLASSES = new ClassValue<List<Class<? extends GameState>>>() {
+        @Override
+        protected List<Class<? extends GameState>> computeValue(Class<?> type) {
+            return Collections.unmodifiableList(new ArrayList<>(getSuperClasses(GameState.class, type.asSubclass(GameState.class))));
+        }
+    };
+    /**
+     * The cached super classes of the feature classes
+     */
+    private static final ClassValue<List<Class<? extends Feature>>> FEATURE_SUPER_CLASSES = new ClassValue<List<Class<? extends Feature>>>() {
+        @Override
+        protected List<Class<? extends Feature>> computeValue(Class<?> type) {
+            return Collections.unmodifiableList(new ArrayList<>(getSuperClasses(Feature.class, type.asSubclass(Feature.class))));
+        }
+    };
+    private static final AtomicReferenceFieldUpdater<FeatureUnit, EventBus> EVENT_BUS_UPDATER = AtomicReferenceFieldUpdater.newUpdater(FeatureUnit.class, EventBus.class, "eventBus");
+
     private final Map<Class<? extends GameState>, GameState> gameStateMap = new IdentityHashMap<>();
     private final Map<Class<? extends Feature>, Feature> featureMap = new IdentityHashMap<>();
     private final List<Feature> features = new ArrayList<>();
     private final List<GameState> gameStates = new ArrayList<>();
+    private final Map<Class<? extends Feature>, LazyFeature<?>> lazyFeatureMap = new IdentityHashMap<>();
+    private final List<LazyFeature<?>> lazyFeatures = new ArrayList<>();
+    private final List<Feature> materializedFeatures = new ArrayList<>();
+    private boolean postInitialized;
+    private volatile EventBus eventBus;
     private final List<FeatureUnit> parentList;
+    private final Object indexLock = new Object();
+    private final Set<FeatureUnit> childUnits = Collections.newSetFromMap(new IdentityHashMap<>());
+    private volatile boolean initialized;
+    private volatile ResolutionIndex resolutionIndex;
+    private volatile Map<SharedFeature, AtomicInteger> ownSharedCounters = Collections.emptyMap();
+    private InitializerGraph initializerGraph;
 
     /**
      * Create a new {@link FeatureUnit}
@@ -57,6 +93,23 @@ public abstract class FeatureUnit implements Initializer {
         return classSet;
     }
 
+    /**
+     * Get the id of the game state that the class resolves to.
+     * The ids are the dense indexes of the game state instances of the unit and its parents, assigned when the lookups of the unit are frozen,
+     * so the classes resolving to the same instance share the id.
+     * The ids stay the same until the unit or one of its parents is cleared.
+     * Store the id in a field after the initialization to look up the game state or check the state of an arena with a single array load.
+     *
+     * @param gameStateClass the class of the game state
+     * @return the id, or -1 if not present or the unit and all of its parents are not initialized
+     * @see #getGameState(int)
+     * @see #init()
+     */
+    public int getGameStateId(Class<? extends GameState> gameStateClass) {
+        ResolutionIndex index = getResolutionIndex();
+        return index == null ? -1 : index.getGameStateId(gameStateClass);
+    }
+
     /**
      * Load the game states
      *
@@ -71,6 +124,59 @@ public abstract class FeatureUnit implements Initializer {
      */
     protected abstract List<Feature> loadFeatures();
 
+    /**
+     * Load the features that are created on demand.
+     * The features of {@link #loadFeatures()} take precedence over the lazy features of the same class.
+     *
+     * @return the lazy features
+     * @see LazyFeature
+     */
+    protected List<LazyFeature<?>> loadLazyFeatures() {
+        return Collections.emptyList();
+    }
+
+    /**
+     * Get the precomputed super classes of the features and the game states of the unit.
+     * The classes that are unknown to the hierarchy are resolved by reflection.
+     * Default is null, which means all classes are resolved by reflection.
+     *
+     * @return the hierarchy, or null if not present
+     */
+    protected TypeHierarchy getTypeHierarchy() {
+        return null;
+    }
+
+    private static List<Class<? extends GameState>> getGameStateSuperClasses(TypeHierarchy hierarchy, Class<? extends GameState> gameStateClass) {
+        List<Class<? extends GameState>> superClasses = hierarchy == null ? null : hierarchy.getGameStateSuperClasses(gameStateClass);
+        return superClasses != null ? superClasses : GAME_STATE_SUPER_CLASSES.get(gameStateClass);
+    }
+
+    /**
+     * Get the super classes of the game state class that are game states, including the class itself.
+     * These are the classes that the game state is registered under.
+     *
+     * @param gameStateClass the class of the game state
+     * @return the super classes
+     */
+    protected List<Class<? extends GameState>> getGameStateSuperClasses(Class<? extends GameState> gameStateClass) {
+        return getGameStateSuperClasses(getTypeHierarchy(), gameStateClass);
+    }
+
+    private static List<Class<? extends Feature>> getFeatureSuperClasses(TypeHierarchy hierarchy, Class<? extends Feature> featureClass) {
+        List<Class<? extends Feature>> superClasses = hierarchy == null ? null : hierarchy.getFeatureSuperClasses(featureClass);
+        return superClasses != null ? superClasses : FEATURE_SUPER_CLASSES.get(featureClass);
+    }
+
+    /**
+     * Get the listener to be notified when a child arena of the unit commits a state transition.
+     * Default is null
+     *
+     * @return the listener, or null if not present
+     */
+    protected StateListener getStateListener() {
+        return null;
+    }
+
     /**
      * Get the parent {@link FeatureUnit}.
      * It takes the first element from the result of {@link #getParentList()}.
@@ -92,46 +198,283 @@ public abstract class FeatureUnit implements Initializer {
         return parentList;
     }
 
+    /**
+     * Initialize the unit.
+     * The lookups of the unit are frozen here: the features and the game states of the unit and its parents are indexed once the unit and all of its parents are initialized,
+     * so changes to the parents after that are not seen until one of them is cleared and initialized again, which rebuilds the index of the unit.
+     * Until all of the parents are initialized, the lookups walk the parent chain.
+     * The unit is registered to its parents here and unregistered in {@link #clear()},
+     * so an initialized unit is held by its parents until it's cleared.
+     */
     @Override
     public void init() {
+        TypeHierarchy hierarchy = getTypeHierarchy();
         this.gameStates.addAll(loadGameStates());
-        gameStates.forEach(gameState -> getSuperClasses(GameState.class, gameState.getClass()).forEach(clazz -> gameStateMap.put(clazz, gameState)));
+        for (GameState gameState : gameStates) {
+            for (Class<? extends GameState> clazz : getGameStateSuperClasses(hierarchy, gameState.getClass())) {
+                gameStateMap.put(clazz, gameState);
+            }
+        }
 
         this.features.addAll(loadFeatures());
-        features.forEach(feature -> getSuperClasses(Feature.class, feature.getClass()).forEach(clazz -> featureMap.put(clazz, feature)));
+        for (Feature feature : features) {
+            for (Class<? extends Feature> clazz : getFeatureSuperClasses(hierarchy, feature.getClass())) {
+                featureMap.put(clazz, feature);
+            }
+        }
+
+        this.lazyFeatures.addAll(loadLazyFeatures());
+        for (LazyFeature<?> lazyFeature : lazyFeatures) {
+            if (lazyFeature.owner != null && lazyFeature.owner != this) {
+                throw new IllegalStateException("The lazy feature " + lazyFeature.featureClass.getName() + " is registered to another unit");
+            }
+            lazyFeature.owner = this;
+            for (Class<? extends Feature> clazz : getFeatureSuperClasses(hierarchy, lazyFeature.featureClass)) {
+                lazyFeatureMap.put(clazz, lazyFeature);
+            }
+        }
+
+        Map<SharedFeature, AtomicInteger> sharedCounterMap = new IdentityHashMap<>();
+        for (Feature feature : features) {
+            if (feature instanceof SharedFeature) {
+                sharedCounterMap.putIfAbsent((SharedFeature) feature, new AtomicInteger());
+            }
+        }
+        this.ownSharedCounters = sharedCounterMap.isEmpty() ? Collections.emptyMap() : sharedCounterMap;
+        this.initializerGraph = InitializerGraph.build(features, featureMap, gameStates);
+
+        this.initialized = true;
+        for (FeatureUnit parent : parentList) {
+            parent.addChildUnit(this);
+        }
+        buildIndex();
+
+        runInitializers(Initializer::init);
+    }
 
-        features.forEach(Initializer::init);
-        gameStates.forEach(Initializer::init);
+    private void addChildUnit(FeatureUnit child) {
+        synchronized (indexLock) {
+            childUnits.add(child);
+        }
+    }
+
+    private void removeChildUnit(FeatureUnit child) {
+        synchronized (indexLock) {
+            childUnits.remove(child);
+        }
+    }
+
+    /**
+     * Get the index of the unit
+     *
+     * @return the index, or null if the lookups should walk the parent chain
+     */
+    ResolutionIndex getResolutionIndex() {
+        return resolutionIndex;
+    }
+
+    /**
+     * Build the index of the unit if the unit and all of its parents are initialized.
+     * Otherwise, the unit waits for its parents: the parent that builds its own index later builds the indexes of its children.
+     */
+    private void buildIndex() {
+        List<FeatureUnit> children;
+        synchronized (indexLock) {
+            if (this.resolutionIndex != null || !initialized) {
+                return;
+            }
+            ResolutionIndex[] parentIndexes = new ResolutionIndex[parentList.size()];
+            for (int i = 0; i < parentIndexes.length; i++) {
+                parentIndexes[i] = parentList.get(i).resolutionIndex;
+                if (parentIndexes[i] == null) {
+                    return;
+                }
+            }
+            this.resolutionIndex = new ResolutionIndex(this, parentIndexes);
+            children = new ArrayList<>(childUnits);
+        }
+        // The children initialized before this unit were waiting for it, so index them now
+        for (FeatureUnit child : children) {
+            child.buildIndex();
+        }
+    }
+
+    private void invalidateIndex() {
+        List<FeatureUnit> children;
+        synchronized (indexLock) {
+            ResolutionIndex index = this.resolutionIndex;
+            if (index == null) {
+                return;
+            }
+            this.resolutionIndex = null;
+            index.release();
+            children = new ArrayList<>(childUnits);
+        }
+        for (FeatureUnit child : children) {
+            child.invalidateIndex();
+        }
     }
 
     @Override
     public void postInit() {
-        features.forEach(Initializer::postInit);
-        gameStates.forEach(Initializer::postInit);
+        runInitializers(Initializer::postInit);
+        for (Feature feature : features) {
+            subscribe(feature);
+        }
+        for (GameState gameState : gameStates) {
+            subscribe(gameState);
+        }
+        synchronized (materializedFeatures) {
+            postInitialized = true;
+            for (int i = 0; i < materializedFeatures.size(); i++) {
+                Feature feature = materializedFeatures.get(i);
+                feature.postInit();
+                subscribe(feature);
+            }
+        }
+        EventBus bus = this.eventBus;
+        if (bus != null) {
+            bus.resolveHandlers();
+        }
+    }
+
+    private void subscribe(Object subscriber) {
+        if (subscriber instanceof EventSubscriber) {
+            ((EventSubscriber) subscriber).subscribe(getEventBus());
+        }
+    }
+
+    /**
+     * Get the event bus of the unit.
+     * The event bus is created on the first call, so a unit without subscribers doesn't hold one.
+     *
+     * @return the event bus
+     */
+    public EventBus getEventBus() {
+        EventBus bus = this.eventBus;
+        if (bus == null) {
+            EVENT_BUS_UPDATER.compareAndSet(this, null, new EventBus(this));
+            bus = this.eventBus;
+        }
+        return bus;
+    }
+
+    /**
+     * Get the event bus of the unit without creating it
+     *
+     * @return the event bus, or null if not created
+     */
+    EventBus peekEventBus() {
+        return eventBus;
+    }
+
+    <T extends Feature> T materialize(LazyFeature<T> lazyFeature) {
+        synchronized (materializedFeatures) {
+            T instance = lazyFeature.instance;
+            if (instance == null) {
+                if (lazyFeature.owner != this) {
+                    throw new IllegalStateException("The lazy feature " + lazyFeature.featureClass.getName() + " is not registered to the unit");
+                }
+                instance = lazyFeature.featureClass.cast(Objects.requireNonNull(lazyFeature.supplier.get(), "The supplier of the lazy feature returned null"));
+                instance.init();
+                if (postInitialized) {
+                    instance.postInit();
+                    subscribe(instance);
+                }
+                materializedFeatures.add(instance);
+                lazyFeature.instance = instance;
+            }
+            return instance;
+        }
+    }
+
+    /**
+     * Get the number of the features of the unit that are created, including the lazy features that are materialized
+     *
+     * @return the number of the features
+     */
+    public int getMaterializedFeatureCount() {
+        synchronized (materializedFeatures) {
+            return features.size() + materializedFeatures.size();
+        }
+    }
+
+    /**
+     * Get the pool to run the initializers in parallel.
+     * Only used when a feature of the unit declares its dependencies.
+     *
+     * @return the pool
+     * @see Feature#getDependencies()
+     */
+    protected ForkJoinPool getInitializerPool() {
+        return ForkJoinPool.commonPool();
+    }
+
+    private void runInitializers(Consumer<Initializer> action) {
+        InitializerGraph graph = this.initializerGraph;
+        if (graph != null) {
+            graph.run(action, getInitializerPool());
+        } else {
+            features.forEach(action);
+            gameStates.forEach(action);
+        }
     }
 
     @Override
     public void clear() {
+        this.initialized = false;
+        for (FeatureUnit parent : parentList) {
+            parent.removeChildUnit(this);
+        }
+        invalidateIndex();
+        this.ownSharedCounters = Collections.emptyMap();
+        InitializerGraph graph = this.initializerGraph;
+        this.initializerGraph = null;
+        EventBus bus = this.eventBus;
+        if (bus != null) {
+            bus.clear();
+        }
+        synchronized (materializedFeatures) {
+            for (int i = materializedFeatures.size() - 1; i >= 0; i--) {
+                materializedFeatures.get(i).clear();
+            }
+            materializedFeatures.clear();
+            for (LazyFeature<?> lazyFeature : lazyFeatures) {
+                lazyFeature.instance = null;
+                lazyFeature.owner = null;
+            }
+            postInitialized = false;
+        }
         for (int i = gameStates.size() - 1; i >= 0; i--) {
             gameStates.get(i).clear();
         }
-        for (int i = features.size() - 1; i >= 0; i--) {
-            features.get(i).clear();
+        // Clear the dependents before their dependencies, in reverse of the order they are initialized
+        List<Feature> clearOrder = graph != null ? graph.getSortedFeatures() : features;
+        for (int i = clearOrder.size() - 1; i >= 0; i--) {
+            clearOrder.get(i).clear();
         }
         featureMap.clear();
         gameStateMap.clear();
+        lazyFeatureMap.clear();
         features.clear();
         gameStates.clear();
+        lazyFeatures.clear();
     }
 
     /**
-     * Get the instance of the game state
+     * Get the instance of the game state.
+     * The lookup is frozen at {@link #init()}.
      *
      * @param gameStateClass the class of the game state
      * @param <T>            the type of the game state
      * @return the instance of the game state
      */
     public <T extends GameState> T getGameState(Class<T> gameStateClass) {
+        ResolutionIndex index = getResolutionIndex();
+        if (index != null) {
+            return gameStateClass.cast(index.gameStateMap.get(gameStateClass));
+        }
+
         GameState gameState = gameStateMap.get(gameStateClass);
         T checkedGameState = gameStateClass.isInstance(gameState) ? gameStateClass.cast(gameState) : null;
         if (checkedGameState != null) {
@@ -149,7 +492,24 @@ public abstract class FeatureUnit implements Initializer {
     }
 
     /**
-     * Get the instance of the feature
+     * Get the instance of the game state by its id.
+     * Only available when the unit and all of its parents are initialized.
+     *
+     * @param gameStateId the id of the game state
+     * @return the instance of the game state, or null if not present or the unit and all of its parents are not initialized
+     * @see #getGameStateId(Class)
+     */
+    public GameState getGameState(int gameStateId) {
+        ResolutionIndex index = getResolutionIndex();
+        if (index == null || gameStateId < 0 || gameStateId >= index.gameStateTable.length) {
+            return null;
+        }
+        return index.gameStateTable[gameStateId];
+    }
+
+    /**
+     * Get the instance of the feature.
+     * The lookup is frozen at {@link #init()}.
      *
      * @param featureClass the class of the feature
      * @param <T>          the type of the feature
@@ -157,7 +517,20 @@ public abstract class FeatureUnit implements Initializer {
      */
     @SuppressWarnings("unused")
     public <T extends Feature> T getFeature(Class<T> featureClass) {
+        ResolutionIndex index = getResolutionIndex();
+        if (index != null) {
+            Object entry = index.featureMap.get(featureClass);
+            if (entry instanceof LazyFeature) {
+                entry = ((LazyFeature<?>) entry).get();
+            }
+            return featureClass.cast(entry);
+        }
+
         Feature feature = featureMap.get(featureClass);
+        if (feature == null) {
+            LazyFeature<?> lazyFeature = lazyFeatureMap.get(featureClass);
+            feature = lazyFeature == null || lazyFeature.owner != this ? null : lazyFeature.get();
+        }
         T checkedFeature = featureClass.isInstance(feature) ? featureClass.cast(feature) : null;
         if (checkedFeature != null) {
             return checkedFeature;
@@ -181,6 +554,11 @@ public abstract class FeatureUnit implements Initializer {
      */
     @SuppressWarnings("unused")
     public Set<Class<? extends GameState>> getGameStates(boolean deep) {
+        ResolutionIndex index = getResolutionIndex();
+        if (index != null) {
+            return deep ? index.deepGameStateClasses : index.gameStateClasses;
+        }
+
         Set<Class<? extends GameState>> classes = new HashSet<>(gameStateMap.keySet());
         if (deep) {
             for (FeatureUnit parent : parentList) {
@@ -198,7 +576,13 @@ public abstract class FeatureUnit implements Initializer {
      */
     @SuppressWarnings("unused")
     public Set<Class<? extends Feature>> getFeatures(boolean deep) {
+        ResolutionIndex index = getResolutionIndex();
+        if (index != null) {
+            return deep ? index.deepFeatureClasses : index.featureClasses;
+        }
+
         Set<Class<? extends Feature>> classes = new HashSet<>(featureMap.keySet());
+        classes.addAll(lazyFeatureMap.keySet());
         if (deep) {
             for (FeatureUnit parent : parentList) {
                 classes.addAll(parent.getFeatures(true));
@@ -206,4 +590,114 @@ public abstract class FeatureUnit implements Initializer {
         }
         return Collections.unmodifiableSet(classes);
     }
+
+    /**
+     * Get the number of the child units that resolve the shared features of the unit
+     *
+     * @return the number of the child units by the class of the shared feature
+     * @see SharedFeature
+     */
+    public Map<Class<? extends Feature>, Integer> getSharedFeatureReferences() {
+        Map<SharedFeature, AtomicInteger> counters = this.ownSharedCounters;
+        if (counters.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Class<? extends Feature>, Integer> references = new HashMap<>();
+        counters.forEach((feature, counter) -> references.put(feature.getClass(), counter.get()));
+        return references;
+    }
+
+    /**
+     * Get the estimated memory saved by sharing the shared features of the unit,
+     * which is the estimated size of every shared feature multiplied by the number of the child units that resolve it
+     *
+     * @return the estimated memory in bytes
+     * @see SharedFeature#getEstimatedSize()
+     */
+    public long getSharedFeatureSavings() {
+        long savings = 0;
+        for (Map.Entry<SharedFeature, AtomicInteger> entry : ownSharedCounters.entrySet()) {
+            savings += entry.getKey().getEstimatedSize() * entry.getValue().get();
+        }
+        return savings;
+    }
+
+    /**
+     * The frozen index of the unit, built from the indexes of the parents once the unit and all of its parents are initialized.
+     * It merges the registrations of the unit and all of its parents, with the same precedence as walking the parent chain:
+     * the unit itself first, then the parents in order, each with its own parents.
+     * A class missing from the index is missing from the whole chain, so a lookup takes a single probe at any depth.
+     * The index is dropped when the unit or one of its parents is cleared, and rebuilt when all of them are initialized again.
+     * The features are mapped to either the {@link Feature} or the {@link LazyFeature} that creates it.
+     * The game state instances are numbered in the index, so the ids of {@link #getGameStateId(Class)} are dense per unit.
+     * The index also acquires the reference counters of the {@link SharedFeature}s it resolves from the parents, and releases them when dropped.
+     */
+    static final class ResolutionIndex {
+        private final Map<Class<? extends GameState>, GameState> gameStateMap = new IdentityHashMap<>();
+        private final Map<Class<? extends Feature>, Object> featureMap = new IdentityHashMap<>();
+        private final Map<Class<? extends GameState>, Integer> gameStateIds = new IdentityHashMap<>();
+        private final GameState[] gameStateTable;
+        private final Map<SharedFeature, AtomicInteger> sharedCounters = new IdentityHashMap<>();
+        private final List<AtomicInteger> acquiredSharedCounters = new ArrayList<>();
+        private final Set<Class<? extends GameState>> gameStateClasses;
+        private final Set<Class<? extends Feature>> featureClasses;
+        private final Set<Class<? extends GameState>> deepGameStateClasses;
+        private final Set<Class<? extends Feature>> deepFeatureClasses;
+
+        private ResolutionIndex(FeatureUnit unit, ResolutionIndex[] parentIndexes) {
+            for (int i = parentIndexes.length - 1; i >= 0; i--) {
+                ResolutionIndex parentIndex = parentIndexes[i];
+                gameStateMap.putAll(parentIndex.gameStateMap);
+                featureMap.putAll(parentIndex.featureMap);
+                sharedCounters.putAll(parentIndex.sharedCounters);
+            }
+            gameStateMap.putAll(unit.gameStateMap);
+            featureMap.putAll(unit.lazyFeatureMap);
+            featureMap.putAll(unit.featureMap);
+
+            Map<SharedFeature, AtomicInteger> ownSharedCounters = unit.ownSharedCounters;
+            Set<Object> resolvedFeatures = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (Object feature : featureMap.values()) {
+                if (feature instanceof SharedFeature && !ownSharedCounters.containsKey(feature) && resolvedFeatures.add(feature)) {
+                    AtomicInteger counter = sharedCounters.get(feature);
+                    if (counter != null) {
+                        counter.incrementAndGet();
+                        acquiredSharedCounters.add(counter);
+                    }
+                }
+            }
+            sharedCounters.putAll(ownSharedCounters);
+
+            Map<GameState, Integer> instanceIds = new IdentityHashMap<>();
+            List<GameState> gameStateInstances = new ArrayList<>();
+            for (Map.Entry<Class<? extends GameState>, GameState> entry : gameStateMap.entrySet()) {
+                Integer gameStateId = instanceIds.get(entry.getValue());
+                if (gameStateId == null) {
+                    gameStateId = gameStateInstances.size();
+                    instanceIds.put(entry.getValue(), gameStateId);
+                    gameStateInstances.add(entry.getValue());
+                }
+                gameStateIds.put(entry.getKey(), gameStateId);
+            }
+            this.gameStateTable = gameStateInstances.toArray(new GameState[0]);
+
+            this.gameStateClasses = Collections.unmodifiableSet(new HashSet<>(unit.gameStateMap.keySet()));
+            Set<Class<? extends Feature>> unitFeatureClasses = new HashSet<>(unit.featureMap.keySet());
+            unitFeatureClasses.addAll(unit.lazyFeatureMap.keySet());
+            this.featureClasses = Collections.unmodifiableSet(unitFeatureClasses);
+            this.deepGameStateClasses = Collections.unmodifiableSet(new HashSet<>(gameStateMap.keySet()));
+            this.deepFeatureClasses = Collections.unmodifiableSet(new HashSet<>(featureMap.keySet()));
+        }
+
+        int getGameStateId(Class<? extends GameState> gameStateClass) {
+            Integer gameStateId = gameStateIds.get(gameStateClass);
+            return gameStateId == null ? -1 : gameStateId;
+        }
+
+        private void release() {
+            for (AtomicInteger counter : acquiredSharedCounters) {
+                counter.decrementAndGet();
+            }
+        }
+    }
 }
@@ -34,4 +34,17 @@ public interface GameState extends Initializer {
     default void end(Arena arena) {
         // EMPTY
     }
+
+    /**
+     * Check if the arena is idle in this state, which means {@link #update(Arena)} has nothing to do.
+     * The idle arena is put to sleep and is not ticked until it's woken by {@link Arena#setNextState(Class)}, {@link Arena#execute(Runnable)} or {@link Arena#wake()}.
+     * This is checked after {@link #start(Arena)} and {@link #update(Arena)}.
+     * Default is false
+     *
+     * @param arena the arena
+     * @return true if the arena is idle
+     */
+    default boolean isIdle(Arena arena) {
+        return false;
+    }
 }
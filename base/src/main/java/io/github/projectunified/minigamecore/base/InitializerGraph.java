@@ -0,0 +1,135 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * The dependency graph of the features and game states of a {@link FeatureUnit}.
+ * The features are run in parallel after their dependencies, and the game states are run serially after all features.
+ */
+final class InitializerGraph {
+    private final List<Feature> features;
+    private final Map<Feature, List<Feature>> dependencyMap;
+    private final List<GameState> gameStates;
+
+    private InitializerGraph(List<Feature> features, Map<Feature, List<Feature>> dependencyMap, List<GameState> gameStates) {
+        this.features = features;
+        this.dependencyMap = dependencyMap;
+        this.gameStates = gameStates;
+    }
+
+    /**
+     * Build the graph
+     *
+     * @param features   the features
+     * @param featureMap the feature map of the unit
+     * @param gameStates the game states
+     * @return the graph, or null if no feature declares dependencies
+     */
+    static InitializerGraph build(List<Feature> features, Map<Class<? extends Feature>, Feature> featureMap, List<GameState> gameStates) {
+        Map<Feature, List<Feature>> dependencyMap = new IdentityHashMap<>();
+        boolean hasDependencies = false;
+        for (Feature feature : features) {
+            List<Feature> dependencies = new ArrayList<>();
+            for (Class<? extends Feature> dependencyClass : feature.getDependencies()) {
+                Feature dependency = featureMap.get(dependencyClass);
+                if (dependency != null && dependency != feature && !dependencies.contains(dependency)) {
+                    dependencies.add(dependency);
+                }
+            }
+            hasDependencies |= !dependencies.isEmpty();
+            dependencyMap.put(feature, dependencies);
+        }
+        if (!hasDependencies) {
+            return null;
+        }
+        return new InitializerGraph(sort(features, dependencyMap), dependencyMap, gameStates);
+    }
+
+    private static List<Feature> sort(List<Feature> features, Map<Feature, List<Feature>> dependencyMap) {
+        Map<Feature, Integer> remainingMap = new IdentityHashMap<>();
+        Map<Feature, List<Feature>> dependentMap = new IdentityHashMap<>();
+        for (Feature feature : features) {
+            List<Feature> dependencies = dependencyMap.get(feature);
+            remainingMap.put(feature, dependencies.size());
+            for (Feature dependency : dependencies) {
+                dependentMap.computeIfAbsent(dependency, k -> new ArrayList<>()).add(feature);
+            }
+        }
+
+        List<Feature> sorted = new ArrayList<>(features.size());
+        Deque<Feature> readyQueue = new ArrayDeque<>();
+        for (Feature feature : features) {
+            if (remainingMap.get(feature) == 0) {
+                readyQueue.add(feature);
+            }
+        }
+        while (!readyQueue.isEmpty()) {
+            Feature feature = readyQueue.poll();
+            sorted.add(feature);
+            for (Feature dependent : dependentMap.getOrDefault(feature, Collections.emptyList())) {
+                int remaining = remainingMap.merge(dependent, -1, Integer::sum);
+                if (remaining == 0) {
+                    readyQueue.add(dependent);
+                }
+            }
+        }
+
+        if (sorted.size() != features.size()) {
+            List<String> cyclicFeatures = new ArrayList<>();
+            for (Feature feature : features) {
+                if (remainingMap.get(feature) > 0) {
+                    cyclicFeatures.add(feature.getClass().getName());
+                }
+            }
+            throw new IllegalStateException("Circular dependency between features: " + cyclicFeatures);
+        }
+        return sorted;
+    }
+
+    /**
+     * Get the features sorted by their dependencies, so every feature comes after its dependencies
+     *
+     * @return the sorted features
+     */
+    List<Feature> getSortedFeatures() {
+        return features;
+    }
+
+    /**
+     * Run the action on the features in parallel, respecting the dependencies, then on the game states serially on the calling thread
+     *
+     * @param action the action
+     * @param pool   the pool to run the action
+     */
+    void run(Consumer<Initializer> action, ForkJoinPool pool) {
+        Map<Feature, CompletableFuture<Void>> featureFutureMap = new IdentityHashMap<>();
+        for (Feature feature : features) {
+            List<Feature> dependencies = dependencyMap.get(feature);
+            CompletableFuture<?>[] dependencyFutures = new CompletableFuture<?>[dependencies.size()];
+            for (int i = 0; i < dependencyFutures.length; i++) {
+                dependencyFutures[i] = featureFutureMap.get(dependencies.get(i));
+            }
+            featureFutureMap.put(feature, CompletableFuture.allOf(dependencyFutures).thenRunAsync(() -> action.accept(feature), pool));
+        }
+
+        try {
+            CompletableFuture.allOf(featureFutureMap.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+
+        // The game states are run serially on the calling thread, in their order, as without the graph
+        gameStates.forEach(action);
+    }
+}
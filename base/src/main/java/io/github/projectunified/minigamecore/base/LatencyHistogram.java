@@ -0,0 +1,153 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * The histogram of latencies in nanoseconds.
+ * The latencies are counted in fixed buckets of powers of two, so recording never allocates.
+ * The bucket {@code i} counts the latencies in {@code [2^(i-1), 2^i)}, and the last bucket counts all latencies above.
+ */
+public final class LatencyHistogram {
+    /**
+     * The number of buckets
+     */
+    public static final int BUCKET_COUNT = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    private static int getBucketIndex(long nanos) {
+        return Math.min(BUCKET_COUNT - 1, 64 - Long.numberOfLeadingZeros(Math.max(0, nanos)));
+    }
+
+    /**
+     * Get the upper bound of the bucket
+     *
+     * @param index the index of the bucket
+     * @return the upper bound in nanoseconds
+     */
+    public static long getBucketUpperBound(int index) {
+        return index >= BUCKET_COUNT - 1 ? Long.MAX_VALUE : 1L << index;
+    }
+
+    /**
+     * Record a latency
+     *
+     * @param nanos the latency in nanoseconds
+     */
+    public void record(long nanos) {
+        buckets.incrementAndGet(getBucketIndex(nanos));
+        count.incrementAndGet();
+        total.addAndGet(nanos);
+        long currentMax;
+        while (nanos > (currentMax = max.get())) {
+            if (max.compareAndSet(currentMax, nanos)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Add all records of the other histogram to this histogram
+     *
+     * @param other the other histogram
+     */
+    public void add(LatencyHistogram other) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.addAndGet(i, other.buckets.get(i));
+        }
+        count.addAndGet(other.getCount());
+        total.addAndGet(other.getTotal());
+        long otherMax = other.getMax();
+        long currentMax;
+        while (otherMax > (currentMax = max.get())) {
+            if (max.compareAndSet(currentMax, otherMax)) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Reset the histogram
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Get the number of records in the bucket
+     *
+     * @param index the index of the bucket
+     * @return the number of records
+     */
+    public long getBucketCount(int index) {
+        return buckets.get(index);
+    }
+
+    /**
+     * Get the number of records
+     *
+     * @return the number of records
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Get the sum of all latencies
+     *
+     * @return the sum in nanoseconds
+     */
+    public long getTotal() {
+        return total.get();
+    }
+
+    /**
+     * Get the maximum latency
+     *
+     * @return the maximum latency in nanoseconds
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Get the mean latency
+     *
+     * @return the mean latency in nanoseconds
+     */
+    public double getMean() {
+        long currentCount = getCount();
+        return currentCount == 0 ? 0 : (double) getTotal() / currentCount;
+    }
+
+    /**
+     * Get the upper bound of the latency at the percentile
+     *
+     * @param percentile the percentile, from 0 to 100
+     * @return the upper bound of the latency in nanoseconds, capped by the maximum latency
+     */
+    public long getPercentile(double percentile) {
+        long currentCount = getCount();
+        if (currentCount == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(currentCount * Math.min(100, Math.max(0, percentile)) / 100);
+        long accumulated = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            accumulated += buckets.get(i);
+            if (accumulated >= rank) {
+                return Math.min(getBucketUpperBound(i), getMax());
+            }
+        }
+        return getMax();
+    }
+}
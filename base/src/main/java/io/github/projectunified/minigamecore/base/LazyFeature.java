@@ -0,0 +1,72 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.function.Supplier;
+
+/**
+ * The {@link Feature} that is created on demand.
+ * It's registered by {@link FeatureUnit#loadLazyFeatures()} under its feature class and the super classes,
+ * and the feature is created and initialized on the first {@link FeatureUnit#getFeature(Class)} that resolves to it.
+ * If the unit is already post-initialized, the feature is also post-initialized.
+ * A lazy feature can only be registered to a single unit.
+ *
+ * @param <T> the type of the feature
+ */
+public final class LazyFeature<T extends Feature> {
+    final Class<T> featureClass;
+    final Supplier<? extends T> supplier;
+    volatile T instance;
+    FeatureUnit owner;
+
+    private LazyFeature(Class<T> featureClass, Supplier<? extends T> supplier) {
+        this.featureClass = featureClass;
+        this.supplier = supplier;
+    }
+
+    /**
+     * Create a new lazy feature
+     *
+     * @param featureClass the class of the feature
+     * @param supplier     the supplier to create the feature
+     * @param <T>          the type of the feature
+     * @return the lazy feature
+     */
+    public static <T extends Feature> LazyFeature<T> of(Class<T> featureClass, Supplier<? extends T> supplier) {
+        return new LazyFeature<>(featureClass, supplier);
+    }
+
+    /**
+     * Get the class of the feature
+     *
+     * @return the class of the feature
+     */
+    public Class<T> getFeatureClass() {
+        return featureClass;
+    }
+
+    /**
+     * Check if the feature is created
+     *
+     * @return true if it is
+     */
+    public boolean isMaterialized() {
+        return instance != null;
+    }
+
+    /**
+     * Get the feature, create it if it's not created yet
+     *
+     * @return the feature
+     * @throws IllegalStateException if the lazy feature is not registered to a unit
+     */
+    public T get() {
+        T current = instance;
+        if (current != null) {
+            return current;
+        }
+        FeatureUnit unit = owner;
+        if (unit == null) {
+            throw new IllegalStateException("The lazy feature " + featureClass.getName() + " is not registered to a unit");
+        }
+        return unit.materialize(this);
+    }
+}
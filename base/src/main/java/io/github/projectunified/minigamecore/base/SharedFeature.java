@@ -0,0 +1,22 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The {@link Feature} that is shared by the child units of the unit that registers it, e.g. the read-only configuration of the arenas.
+ * Register it to a parent unit (e.g. the arena manager or a {@link FeatureTemplate}) instead of every arena.
+ * The arenas resolve it through the parent chain, so there is a single instance, which is only initialized and cleared by its owner.
+ * The feature must be immutable or thread-safe, since it's accessed by all child units.
+ * The owner counts the child units that resolve the feature, see {@link FeatureUnit#getSharedFeatureReferences()}.
+ */
+public interface SharedFeature extends Feature {
+    /**
+     * Get the estimated size of the feature in bytes.
+     * It's used to estimate the memory saved by sharing the feature instead of creating a copy in every child unit.
+     * Default is 0, which means unknown
+     *
+     * @return the estimated size in bytes
+     * @see FeatureUnit#getSharedFeatureSavings()
+     */
+    default long getEstimatedSize() {
+        return 0;
+    }
+}
@@ -0,0 +1,17 @@
+package io.github.projectunified.minigamecore.base;
+
+/**
+ * The listener of the state changes of the {@link Arena}.
+ * The listener returned by {@link FeatureUnit#getStateListener()} of a parent of the arena will be notified when the arena commits a state transition.
+ */
+public interface StateListener {
+    /**
+     * Called when the arena committed a state transition.
+     * This is called on the thread running the arena, before {@link GameState#end(Arena)} of the old state and {@link GameState#start(Arena)} of the new state.
+     *
+     * @param arena    the arena
+     * @param oldState the class of the old state (may be null)
+     * @param newState the class of the new state
+     */
+    void onStateChanged(Arena arena, Class<? extends GameState> oldState, Class<? extends GameState> newState);
+}
@@ -0,0 +1,27 @@
+package io.github.projectunified.minigamecore.base;
+
+import java.util.List;
+
+/**
+ * The precomputed super classes of the features and the game states, which are used as the registration keys of a {@link FeatureUnit}.
+ * It's usually generated at compile time, so the unit doesn't need to reflect over the class hierarchies when it's initialized.
+ *
+ * @see FeatureUnit#getTypeHierarchy()
+ */
+public interface TypeHierarchy {
+    /**
+     * Get the super classes of the game state class, including the class itself and {@link GameState}
+     *
+     * @param gameStateClass the class of the game state
+     * @return the super classes, or null if the class is unknown
+     */
+    List<Class<? extends GameState>> getGameStateSuperClasses(Class<? extends GameState> gameStateClass);
+
+    /**
+     * Get the super classes of the feature class, including the class itself and {@link Feature}
+     *
+     * @param featureClass the class of the feature
+     * @return the super classes, or null if the class is unknown
+     */
+    List<Class<? extends Feature>> getFeatureSuperClasses(Class<? extends Feature> featureClass);
+}
@@ -0,0 +1,140 @@
+package io.github.projectunified.minigamecore.base;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Check that {@link Arena#run()} does not allocate in the steady state
+ */
+class ArenaAllocationTest {
+    private static final int WARMUP_TICKS = 200_000;
+    private static final int MEASURED_TICKS = 1_000_000;
+    /**
+     * The bytes allowed for the whole measurement, which only covers the overhead of reading the allocation counter
+     */
+    private static final long ALLOCATION_TOLERANCE = 1024;
+
+    private TestArena arena;
+
+    private static com.sun.management.ThreadMXBean getThreadMXBean() {
+        java.lang.management.ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (!(threadMXBean instanceof com.sun.management.ThreadMXBean)) {
+            return null;
+        }
+        com.sun.management.ThreadMXBean sunThreadMXBean = (com.sun.management.ThreadMXBean) threadMXBean;
+        if (!sunThreadMXBean.isThreadAllocatedMemorySupported()) {
+            return null;
+        }
+        sunThreadMXBean.setThreadAllocatedMemoryEnabled(true);
+        return sunThreadMXBean;
+    }
+
+    private static long measureAllocatedBytes(com.sun.management.ThreadMXBean threadMXBean, Runnable tick) {
+        for (int i = 0; i < WARMUP_TICKS; i++) {
+            tick.run();
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_TICKS; i++) {
+            tick.run();
+        }
+        return threadMXBean.getThreadAllocatedBytes(threadId) - before;
+    }
+
+    @BeforeEach
+    void setUp() {
+        arena = new TestArena();
+        arena.init();
+        arena.setNextState(WaitingState.class);
+        arena.run();
+    }
+
+    @AfterEach
+    void tearDown() {
+        arena.clear();
+    }
+
+    @Test
+    void steadyStateTickDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+        assumeTrue(threadMXBean != null, "The allocation counter of the thread is not supported");
+
+        long allocatedBytes = measureAllocatedBytes(threadMXBean, arena);
+        assertTrue(allocatedBytes < ALLOCATION_TOLERANCE, "The ticks allocated " + allocatedBytes + " bytes in " + MEASURED_TICKS + " ticks");
+    }
+
+    @Test
+    void instrumentedTickDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+        assumeTrue(threadMXBean != null, "The allocation counter of the thread is not supported");
+
+        arena.setMetrics(new ArenaMetrics());
+        arena.run();
+        long allocatedBytes = measureAllocatedBytes(threadMXBean, arena);
+        assertTrue(allocatedBytes < ALLOCATION_TOLERANCE, "The ticks allocated " + allocatedBytes + " bytes in " + MEASURED_TICKS + " ticks");
+    }
+
+    @Test
+    void sleepingTickWithDrainedMailboxDoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadMXBean = getThreadMXBean();
+        assumeTrue(threadMXBean != null, "The allocation counter of the thread is not supported");
+
+        arena.execute(() -> arena.setNextState(IdleState.class));
+        arena.run();
+        arena.run();
+        assertTrue(arena.isInState(IdleState.class));
+        assertTrue(arena.isSleeping());
+        assertEquals(0, arena.getPendingTaskCount());
+
+        long allocatedBytes = measureAllocatedBytes(threadMXBean, arena);
+        assertTrue(allocatedBytes < ALLOCATION_TOLERANCE, "The ticks allocated " + allocatedBytes + " bytes in " + MEASURED_TICKS + " ticks");
+    }
+
+    private static class TestArena extends Arena {
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Arrays.asList(new WaitingState(), new InGameState(), new IdleState());
+        }
+    }
+
+    private static class WaitingState implements GameState {
+        private long ticks;
+
+        @Override
+        public void update(Arena arena) {
+            ticks++;
+        }
+    }
+
+    private static class InGameState implements GameState {
+        private long ticks;
+
+        @Override
+        public void update(Arena arena) {
+            ticks++;
+        }
+    }
+
+    private static class IdleState implements GameState {
+        private long ticks;
+
+        @Override
+        public void update(Arena arena) {
+            ticks++;
+        }
+
+        @Override
+        public boolean isIdle(Arena arena) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package io.github.projectunified.minigamecore.base;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Check the lookups of {@link FeatureUnit}
+ */
+class FeatureUnitTest {
+    @Test
+    void childInitializedBeforeParentResolvesParentFeatures() {
+        TestUnit parent = new TestUnit(() -> Collections.singletonList(new FeatureA()));
+        TestUnit child = new TestUnit(Collections::emptyList, parent);
+
+        child.init();
+        assertNull(child.getFeature(FeatureA.class));
+        parent.init();
+        assertSame(parent.getFeature(FeatureA.class), child.getFeature(FeatureA.class));
+        assertNotNull(child.getFeature(FeatureA.class));
+
+        child.clear();
+        parent.clear();
+    }
+
+    @Test
+    void childResolvesNewInstancesAfterParentIsInitializedAgain() {
+        TestUnit parent = new TestUnit(() -> Collections.singletonList(new FeatureA()));
+        TestUnit child = new TestUnit(Collections::emptyList, parent);
+        parent.init();
+        child.init();
+        FeatureA oldFeature = child.getFeature(FeatureA.class);
+        assertNotNull(oldFeature);
+
+        parent.clear();
+        assertNull(child.getFeature(FeatureA.class));
+        parent.init();
+        FeatureA newFeature = child.getFeature(FeatureA.class);
+        assertNotNull(newFeature);
+        assertNotSame(oldFeature, newFeature);
+        assertSame(parent.getFeature(FeatureA.class), newFeature);
+
+        child.clear();
+        parent.clear();
+    }
+
+    @Test
+    void arenaChangesStateWhenParentIsInitializedLater() {
+        TestUnit parent = new TestUnit(Collections::emptyList) {
+            @Override
+            protected List<GameState> loadGameStates() {
+                return Arrays.asList(new StateA(), new StateB());
+            }
+        };
+        Arena arena = new Arena(parent);
+
+        arena.init();
+        arena.setNextState(StateA.class);
+        arena.run();
+        assertNull(arena.getCurrentState());
+
+        parent.init();
+        arena.run();
+        assertSame(StateA.class, arena.getCurrentState());
+        assertEquals(arena.getGameStateId(StateA.class), arena.getCurrentStateId());
+        assertTrue(arena.isInState(GameState.class));
+        assertFalse(arena.isInState(StateB.class));
+        assertTrue(arena.setNextStateIf(StateA.class, StateB.class));
+        arena.run();
+        assertSame(StateB.class, arena.getCurrentState());
+
+        arena.clear();
+        parent.clear();
+    }
+
+    @Test
+    void featuresAreInitializedAndClearedInDependencyOrder() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestUnit unit = new TestUnit(() -> Arrays.asList(
+                new RecordingFeature("B", events, Collections.singletonList(FeatureA.class)),
+                new RecordingFeatureA("A", events)
+        ));
+
+        unit.init();
+        unit.postInit();
+        unit.clear();
+        assertEquals(Arrays.asList("init A", "init B", "postInit A", "postInit B", "clear B", "clear A"), events);
+    }
+
+    @Test
+    void circularDependenciesAreRejected() {
+        List<String> events = Collections.synchronizedList(new ArrayList<>());
+        TestUnit unit = new TestUnit(() -> Arrays.asList(
+                new RecordingFeature("B", events, Collections.singletonList(FeatureA.class)),
+                new RecordingFeatureA("A", events, Collections.singletonList(RecordingFeature.class))
+        ));
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, unit::init);
+        assertTrue(exception.getMessage().startsWith("Circular dependency"), exception.getMessage());
+        assertTrue(events.isEmpty());
+        unit.clear();
+    }
+
+    @Test
+    void eventBusIsCreatedOnDemandAndEventsSkipUnitsWithoutIt() {
+        TestUnit root = new TestUnit(Collections::emptyList);
+        TestUnit middle = new TestUnit(Collections::emptyList, root);
+        TestUnit leaf = new TestUnit(Collections::emptyList, middle);
+        root.init();
+        middle.init();
+        leaf.init();
+        root.postInit();
+        middle.postInit();
+        leaf.postInit();
+        assertNull(middle.peekEventBus());
+
+        List<Object> receivedEvents = new ArrayList<>();
+        root.getEventBus().subscribe(String.class, receivedEvents::add);
+        leaf.getEventBus().publish("event");
+        assertNull(middle.peekEventBus());
+        assertEquals(Collections.singletonList("event"), receivedEvents);
+
+        leaf.clear();
+        middle.clear();
+        root.clear();
+    }
+
+    @Test
+    void eventsReachSharedAncestorOnce() {
+        TestUnit root = new TestUnit(Collections::emptyList);
+        TestUnit left = new TestUnit(Collections::emptyList, root);
+        TestUnit right = new TestUnit(Collections::emptyList, root);
+        TestUnit leaf = new TestUnit(Collections::emptyList, left, right);
+        root.init();
+        left.init();
+        right.init();
+        leaf.init();
+
+        List<Object> receivedEvents = new ArrayList<>();
+        root.getEventBus().subscribe(String.class, receivedEvents::add);
+        right.getEventBus().subscribe(String.class, receivedEvents::add);
+        leaf.getEventBus().publish("event");
+        assertEquals(Arrays.asList("event", "event"), receivedEvents);
+
+        leaf.clear();
+        right.clear();
+        left.clear();
+        root.clear();
+    }
+
+    static class TestUnit extends FeatureUnit {
+        private final Supplier<List<Feature>> featureSupplier;
+
+        TestUnit(Supplier<List<Feature>> featureSupplier, FeatureUnit... parent) {
+            super(parent);
+            this.featureSupplier = featureSupplier;
+        }
+
+        @Override
+        protected List<GameState> loadGameStates() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        protected List<Feature> loadFeatures() {
+            return featureSupplier.get();
+        }
+    }
+
+    static class FeatureA implements Feature {
+    }
+
+    static class RecordingFeature implements Feature {
+        private final String name;
+        private final List<String> events;
+        private final Collection<Class<? extends Feature>> dependencies;
+
+        RecordingFeature(String name, List<String> events, Collection<Class<? extends Feature>> dependencies) {
+            this.name = name;
+            this.events = events;
+            this.dependencies = dependencies;
+        }
+
+        @Override
+        public Collection<Class<? extends Feature>> getDependencies() {
+            return dependencies;
+        }
+
+        @Override
+        public void init() {
+            events.add("init " + name);
+        }
+
+        @Override
+        public void postInit() {
+            events.add("postInit " + name);
+        }
+
+        @Override
+        public void clear() {
+            events.add("clear " + name);
+        }
+    }
+
+    static class RecordingFeatureA extends FeatureA {
+        private final RecordingFeature delegate;
+
+        RecordingFeatureA(String name, List<String> events) {
+            this(name, events, Collections.emptyList());
+        }
+
+        RecordingFeatureA(String name, List<String> events, Collection<Class<? extends Feature>> dependencies) {
+            this.delegate = new RecordingFeature(name, events, dependencies);
+        }
+
+        @Override
+        public Collection<Class<? extends Feature>> getDependencies() {
+            return delegate.getDependencies();
+        }
+
+        @Override
+        public void init() {
+            delegate.init();
+        }
+
+        @Override
+        public void postInit() {
+            delegate.postInit();
+        }
+
+        @Override
+        public void clear() {
+            delegate.clear();
+        }
+    }
+
+    static class StateA implements GameState {
+    }
+
+    static class StateB implements GameState {
+    }
+}
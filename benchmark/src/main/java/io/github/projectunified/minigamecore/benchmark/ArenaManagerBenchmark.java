@@ -0,0 +1,78 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.manager.ArenaManager;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of adding, removing and creating arenas in a populated {@link ArenaManager}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaManagerBenchmark {
+    @Param({"10000", "100000"})
+    private int arenaCount;
+
+    private ArenaManager<Integer, BenchmarkArena> arenaManager;
+    private int nextIdentifier;
+
+    @Setup
+    public void setup() {
+        arenaManager = new ArenaManager<Integer, BenchmarkArena>() {
+            @Override
+            protected List<GameState> loadGameStates() {
+                return Collections.emptyList();
+            }
+
+            @Override
+            protected List<Feature> loadFeatures() {
+                return Collections.emptyList();
+            }
+        };
+        arenaManager.init();
+        for (int i = 0; i < arenaCount; i++) {
+            arenaManager.addArena(new BenchmarkArena(i, 0, arenaManager));
+        }
+        nextIdentifier = arenaCount;
+    }
+
+    @TearDown
+    public void tearDown() {
+        arenaManager.clear();
+    }
+
+    @Benchmark
+    public boolean addAndRemoveArena() {
+        int identifier = nextIdentifier++;
+        boolean added = arenaManager.addArena(new BenchmarkArena(identifier, 0, arenaManager));
+        arenaManager.removeArena(identifier);
+        return added;
+    }
+
+    @Benchmark
+    public boolean createAndRemoveArena() {
+        int identifier = nextIdentifier++;
+        boolean created = arenaManager.createArena(identifier, id -> new BenchmarkArena(id, 0, arenaManager), arena -> {
+        }).isPresent();
+        arenaManager.removeArena(identifier);
+        return created;
+    }
+
+    @Benchmark
+    public int iterateAllArenas() {
+        int count = 0;
+        for (BenchmarkArena ignored : arenaManager.getAllArenas()) {
+            count++;
+        }
+        return count;
+    }
+}
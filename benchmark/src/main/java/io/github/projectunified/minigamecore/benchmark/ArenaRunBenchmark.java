@@ -0,0 +1,44 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of {@link io.github.projectunified.minigamecore.base.Arena#run()}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArenaRunBenchmark {
+    private BenchmarkArena arena;
+    private boolean inGame;
+
+    @Setup
+    public void setup() {
+        arena = new BenchmarkArena(0, 4);
+        arena.init();
+        arena.setNextState(BenchmarkArena.WaitingState.class);
+        arena.run();
+    }
+
+    @TearDown
+    public void tearDown() {
+        arena.clear();
+    }
+
+    @Benchmark
+    public void steadyState() {
+        arena.run();
+    }
+
+    @Benchmark
+    public void pendingTransition() {
+        inGame = !inGame;
+        arena.setNextState(inGame ? BenchmarkArena.InGameState.class : BenchmarkArena.WaitingState.class);
+        arena.run();
+    }
+}
@@ -0,0 +1,89 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.FeatureUnit;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.manager.ManagedArena;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The arena used in the benchmarks
+ */
+public class BenchmarkArena extends Arena implements ManagedArena<Integer> {
+    private final int identifier;
+    private final int featureCount;
+
+    /**
+     * Create a new arena
+     *
+     * @param identifier   the identifier
+     * @param featureCount the number of features
+     * @param parent       the parent unit
+     */
+    public BenchmarkArena(int identifier, int featureCount, FeatureUnit... parent) {
+        super(parent);
+        this.identifier = identifier;
+        this.featureCount = featureCount;
+    }
+
+    @Override
+    public Integer getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    protected List<GameState> loadGameStates() {
+        return Arrays.asList(new WaitingState(), new InGameState());
+    }
+
+    @Override
+    protected List<Feature> loadFeatures() {
+        List<Feature> features = new ArrayList<>(featureCount);
+        for (int i = 0; i < featureCount; i++) {
+            features.add(new CounterFeature());
+        }
+        return features;
+    }
+
+    /**
+     * A game state that counts the ticks
+     */
+    public static class WaitingState implements GameState {
+        private long ticks;
+
+        @Override
+        public void update(Arena arena) {
+            ticks++;
+        }
+    }
+
+    /**
+     * Another game state that counts the ticks
+     */
+    public static class InGameState implements GameState {
+        private long ticks;
+
+        @Override
+        public void update(Arena arena) {
+            ticks++;
+        }
+    }
+
+    /**
+     * A feature with a counter
+     */
+    public static class CounterFeature implements Feature {
+        private long count;
+
+        /**
+         * Increase the counter
+         */
+        public void increment() {
+            count++;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.editor.Editor;
+import io.github.projectunified.minigamecore.editor.EditorAction;
+import io.github.projectunified.minigamecore.editor.EditorActor;
+import io.github.projectunified.minigamecore.editor.extra.status.EditorStatusListDisplay;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of {@link io.github.projectunified.minigamecore.editor.extra.status.EditorStatusDisplay#display(Editor)} on a large editor tree
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EditorStatusDisplayBenchmark {
+    @Param({"3", "5"})
+    private int depth;
+
+    @Param({"8"})
+    private int width;
+
+    private Editor<?> editor;
+    private EditorStatusListDisplay<String> display;
+
+    private static Editor<Object> createEditor(int depth, int width) {
+        Map<String, Object> status = new LinkedHashMap<>();
+        for (int i = 0; i < width; i++) {
+            if (depth > 1) {
+                status.put("editor-" + i, createEditor(depth - 1, width));
+            } else {
+                status.put("list-" + i, Arrays.asList(i, i + 1, i + 2));
+            }
+        }
+        return new Editor<Object>() {
+            @Override
+            public Map<String, EditorAction> actions() {
+                return Collections.emptyMap();
+            }
+
+            @Override
+            public void reset() {
+                // EMPTY
+            }
+
+            @Override
+            public Object status() {
+                return status;
+            }
+
+            @Override
+            public Optional<Object> export(EditorActor actor) {
+                return Optional.empty();
+            }
+
+            @Override
+            public void migrate(Object data) {
+                // EMPTY
+            }
+        };
+    }
+
+    @Setup
+    public void setup() {
+        editor = createEditor(depth, width);
+        display = new EditorStatusListDisplay<String>() {
+            @Override
+            protected String newSection(List<String> builder, int level) {
+                return "";
+            }
+
+            @Override
+            protected void appendKey(String section, String key, boolean fromCollection) {
+                // EMPTY
+            }
+
+            @Override
+            protected void appendSize(String section, int size) {
+                // EMPTY
+            }
+
+            @Override
+            protected void appendValue(String section, Object value, Editor<?> editor) {
+                // EMPTY
+            }
+        };
+    }
+
+    @Benchmark
+    public List<String> display() {
+        return display.display(editor);
+    }
+}
@@ -0,0 +1,96 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import io.github.projectunified.minigamecore.base.Feature;
+import io.github.projectunified.minigamecore.base.FeatureUnit;
+import io.github.projectunified.minigamecore.base.GameState;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of {@link FeatureUnit#getFeature(Class)} and {@link FeatureUnit#getGameState(Class)} through the parent chain
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureLookupBenchmark {
+    @Param({"1", "2", "4", "8"})
+    private int depth;
+
+    private final List<FeatureUnit> units = new ArrayList<>();
+    private FeatureUnit leaf;
+
+    private static FeatureUnit createUnit(List<Feature> features, List<GameState> gameStates, FeatureUnit... parent) {
+        return new FeatureUnit(parent) {
+            @Override
+            protected List<GameState> loadGameStates() {
+                return gameStates;
+            }
+
+            @Override
+            protected List<Feature> loadFeatures() {
+                return features;
+            }
+        };
+    }
+
+    @Setup
+    public void setup() {
+        FeatureUnit root = createUnit(Collections.singletonList(new RootFeature()), Collections.singletonList(new RootState()));
+        units.add(root);
+        FeatureUnit current = root;
+        for (int i = 1; i < depth; i++) {
+            current = createUnit(Collections.emptyList(), Collections.emptyList(), current);
+            units.add(current);
+        }
+        leaf = createUnit(Collections.emptyList(), Collections.emptyList(), current);
+        units.add(leaf);
+        units.forEach(FeatureUnit::init);
+    }
+
+    @TearDown
+    public void tearDown() {
+        for (int i = units.size() - 1; i >= 0; i--) {
+            units.get(i).clear();
+        }
+        units.clear();
+    }
+
+    @Benchmark
+    public Feature featureHit() {
+        return leaf.getFeature(RootFeature.class);
+    }
+
+    @Benchmark
+    public Feature featureMiss() {
+        return leaf.getFeature(MissingFeature.class);
+    }
+
+    @Benchmark
+    public GameState gameStateHit() {
+        return leaf.getGameState(RootState.class);
+    }
+
+    @Benchmark
+    public GameState gameStateMiss() {
+        return leaf.getGameState(MissingState.class);
+    }
+
+    public static class RootFeature implements Feature {
+    }
+
+    public static class MissingFeature implements Feature {
+    }
+
+    public static class RootState implements GameState {
+    }
+
+    public static class MissingState implements GameState {
+    }
+}
@@ -0,0 +1,27 @@
+package io.github.projectunified.minigamecore.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The benchmark of {@link io.github.projectunified.minigamecore.base.FeatureUnit#init()}
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FeatureUnitInitBenchmark {
+    @Param({"4", "32"})
+    private int featureCount;
+
+    @Benchmark
+    public BenchmarkArena initAndClear() {
+        BenchmarkArena arena = new BenchmarkArena(0, featureCount);
+        arena.init();
+        arena.clear();
+        return arena;
+    }
+}
@@ -0,0 +1,8 @@
+/**
+ * The JMH benchmarks of the hot paths of MinigameCore.
+ * Build the module with {@code mvn -P benchmark -pl benchmark -am package},
+ * then run {@code java -jar benchmark/target/benchmarks.jar -rf json -rff result.json}
+ * to get the machine-readable results.
+ * Add {@code -prof gc} to report the allocation per operation.
+ */
+package io.github.projectunified.minigamecore.benchmark;
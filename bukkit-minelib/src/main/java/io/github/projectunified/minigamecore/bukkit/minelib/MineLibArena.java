@@ -1,22 +1,28 @@
 package io.github.projectunified.minigamecore.bukkit.minelib;
 
 import io.github.projectunified.minelib.scheduler.async.AsyncScheduler;
+import io.github.projectunified.minelib.scheduler.common.scheduler.Scheduler;
 import io.github.projectunified.minelib.scheduler.common.task.Task;
 import io.github.projectunified.minelib.scheduler.global.GlobalScheduler;
+import io.github.projectunified.minelib.scheduler.location.LocationScheduler;
+import io.github.projectunified.minigamecore.base.ArenaTask;
 import io.github.projectunified.minigamecore.base.FeatureUnit;
+import io.github.projectunified.minigamecore.bukkit.ArenaTicker;
 import io.github.projectunified.minigamecore.bukkit.BukkitArena;
-import io.github.projectunified.minigamecore.extra.TimePeriod;
+import io.github.projectunified.minigamecore.bukkit.ScheduledBukkitArena;
+import org.bukkit.Location;
+import org.bukkit.plugin.Plugin;
 import org.bukkit.plugin.java.JavaPlugin;
 
 import java.util.List;
 
 /**
  * The MineLib implementation of {@link BukkitArena} that uses {@link Task} to run the arena.
- * {@link #getPeriod()} and {@link #getDelay()} will return the time in Bukkit's ticks (20 ticks = 1 seconds).
+ * If the unit or its parents have a {@link MineLibTicker}, the arena will be run by the ticker instead of its own task.
+ * A synchronous arena that has a location from {@link #getLocation()} is run by the {@link LocationScheduler} of that location,
+ * so the arenas in different regions of a Folia server are run in parallel.
  */
-public class MineLibArena extends BukkitArena implements TimePeriod {
-    private Task task;
-
+public class MineLibArena extends ScheduledBukkitArena {
     /**
      * Create a new arena
      *
@@ -35,26 +41,38 @@ public class MineLibArena extends BukkitArena implements TimePeriod {
         super(parent);
     }
 
-    @Override
-    public long getDelay() {
-        return 20;
+    /**
+     * Get the home location of the arena.
+     * If set, the synchronous arena is run on the region that owns the location instead of the global region,
+     * and it's not run by the {@link MineLibTicker}.
+     * On non-Folia servers, the arena is run on the main thread as usual.
+     * Default is null
+     *
+     * @return the location, or null to run the arena on the global region
+     */
+    protected Location getLocation() {
+        return null;
     }
 
-    @Override
-    public long getPeriod() {
-        return 20;
+    private Scheduler getScheduler(Plugin plugin) {
+        if (isAsync()) {
+            return AsyncScheduler.get(plugin);
+        }
+        Location location = getLocation();
+        if (location != null && location.getWorld() != null) {
+            return LocationScheduler.get(plugin, location);
+        }
+        return GlobalScheduler.get(plugin);
     }
 
     @Override
-    protected void initArena() {
-        JavaPlugin plugin = JavaPlugin.getProvidingPlugin(MineLibArena.class);
-        this.task = (isAsync() ? AsyncScheduler.get(plugin) : GlobalScheduler.get(plugin)).runTimer(this, getDelay(), getPeriod());
+    protected ArenaTicker getTicker() {
+        return isAsync() || getLocation() == null ? getFeature(MineLibTicker.class) : null;
     }
 
     @Override
-    protected void clearArena() {
-        if (task != null) {
-            task.cancel();
-        }
+    protected ArenaTask.Handle startTask(long delay, long period) {
+        JavaPlugin plugin = JavaPlugin.getProvidingPlugin(MineLibArena.class);
+        return getScheduler(plugin).runTimer(this, delay, period)::cancel;
     }
 }
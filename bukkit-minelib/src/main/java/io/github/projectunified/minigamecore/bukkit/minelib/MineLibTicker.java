@@ -0,0 +1,61 @@
+package io.github.projectunified.minigamecore.bukkit.minelib;
+
+import io.github.projectunified.minelib.scheduler.async.AsyncScheduler;
+import io.github.projectunified.minelib.scheduler.common.task.Task;
+import io.github.projectunified.minelib.scheduler.global.GlobalScheduler;
+import io.github.projectunified.minigamecore.bukkit.ArenaTicker;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+
+/**
+ * The {@link ArenaTicker} that uses a single {@link Task} to run all {@link MineLibArena} under the unit having it
+ */
+public class MineLibTicker extends ArenaTicker {
+    private final Plugin plugin;
+    private Task task;
+
+    /**
+     * Create a new ticker
+     *
+     * @param plugin           the plugin to schedule the tasks
+     * @param asyncParallelism the maximum number of chunks that the due asynchronous arenas are split into in a tick
+     */
+    public MineLibTicker(Plugin plugin, int asyncParallelism) {
+        super(asyncParallelism);
+        this.plugin = plugin;
+    }
+
+    /**
+     * Create a new ticker
+     *
+     * @param plugin the plugin to schedule the tasks
+     */
+    public MineLibTicker(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Create a new ticker with the plugin providing this class
+     */
+    public MineLibTicker() {
+        this(JavaPlugin.getProvidingPlugin(MineLibTicker.class));
+    }
+
+    @Override
+    protected void startTimer(Runnable tickTask) {
+        this.task = GlobalScheduler.get(plugin).runTimer(tickTask, 1, 1);
+    }
+
+    @Override
+    protected void stopTimer() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    @Override
+    protected void runAsync(Runnable task) {
+        AsyncScheduler.get(plugin).run(task);
+    }
+}
@@ -1,8 +1,10 @@
 package io.github.projectunified.minigamecore.bukkit.simple;
 
+import io.github.projectunified.minigamecore.base.ArenaTask;
 import io.github.projectunified.minigamecore.base.FeatureUnit;
+import io.github.projectunified.minigamecore.bukkit.ArenaTicker;
 import io.github.projectunified.minigamecore.bukkit.BukkitArena;
-import io.github.projectunified.minigamecore.extra.TimePeriod;
+import io.github.projectunified.minigamecore.bukkit.ScheduledBukkitArena;
 import org.bukkit.Bukkit;
 import org.bukkit.plugin.java.JavaPlugin;
 import org.bukkit.scheduler.BukkitTask;
@@ -11,11 +13,9 @@ import java.util.List;
 
 /**
  * The simple implementation of {@link BukkitArena} that uses {@link BukkitTask} to run the arena.
- * {@link #getPeriod()} and {@link #getDelay()} will return the time in Bukkit's ticks (20 ticks = 1 seconds).
+ * If the unit or its parents have a {@link SimpleBukkitTicker}, the arena will be run by the ticker instead of its own task.
  */
-public class SimpleBukkitArena extends BukkitArena implements TimePeriod {
-    private BukkitTask task;
-
+public class SimpleBukkitArena extends ScheduledBukkitArena {
     /**
      * Create a new arena
      *
@@ -35,29 +35,19 @@ public class SimpleBukkitArena extends BukkitArena implements TimePeriod {
     }
 
     @Override
-    public long getDelay() {
-        return 20;
-    }
-
-    @Override
-    public long getPeriod() {
-        return 20;
+    protected ArenaTicker getTicker() {
+        return getFeature(SimpleBukkitTicker.class);
     }
 
     @Override
-    protected void initArena() {
+    protected ArenaTask.Handle startTask(long delay, long period) {
         JavaPlugin plugin = JavaPlugin.getProvidingPlugin(SimpleBukkitArena.class);
+        BukkitTask task;
         if (isAsync()) {
-            this.task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this, this.getDelay(), this.getPeriod());
+            task = Bukkit.getScheduler().runTaskTimerAsynchronously(plugin, this, delay, period);
         } else {
-            this.task = Bukkit.getScheduler().runTaskTimer(plugin, this, this.getDelay(), this.getPeriod());
-        }
-    }
-
-    @Override
-    protected void clearArena() {
-        if (this.task != null) {
-            this.task.cancel();
+            task = Bukkit.getScheduler().runTaskTimer(plugin, this, delay, period);
         }
+        return task::cancel;
     }
 }
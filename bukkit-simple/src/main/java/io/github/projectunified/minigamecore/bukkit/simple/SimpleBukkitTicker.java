@@ -0,0 +1,60 @@
+package io.github.projectunified.minigamecore.bukkit.simple;
+
+import io.github.projectunified.minigamecore.bukkit.ArenaTicker;
+import org.bukkit.Bukkit;
+import org.bukkit.plugin.Plugin;
+import org.bukkit.plugin.java.JavaPlugin;
+import org.bukkit.scheduler.BukkitTask;
+
+/**
+ * The {@link ArenaTicker} that uses a single {@link BukkitTask} to run all {@link SimpleBukkitArena} under the unit having it
+ */
+public class SimpleBukkitTicker extends ArenaTicker {
+    private final Plugin plugin;
+    private BukkitTask task;
+
+    /**
+     * Create a new ticker
+     *
+     * @param plugin           the plugin to schedule the tasks
+     * @param asyncParallelism the maximum number of chunks that the due asynchronous arenas are split into in a tick
+     */
+    public SimpleBukkitTicker(Plugin plugin, int asyncParallelism) {
+        super(asyncParallelism);
+        this.plugin = plugin;
+    }
+
+    /**
+     * Create a new ticker
+     *
+     * @param plugin the plugin to schedule the tasks
+     */
+    public SimpleBukkitTicker(Plugin plugin) {
+        this.plugin = plugin;
+    }
+
+    /**
+     * Create a new ticker with the plugin providing this class
+     */
+    public SimpleBukkitTicker() {
+        this(JavaPlugin.getProvidingPlugin(SimpleBukkitTicker.class));
+    }
+
+    @Override
+    protected void startTimer(Runnable tickTask) {
+        this.task = Bukkit.getScheduler().runTaskTimer(plugin, tickTask, 1, 1);
+    }
+
+    @Override
+    protected void stopTimer() {
+        if (this.task != null) {
+            this.task.cancel();
+            this.task = null;
+        }
+    }
+
+    @Override
+    protected void runAsync(Runnable task) {
+        Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+}
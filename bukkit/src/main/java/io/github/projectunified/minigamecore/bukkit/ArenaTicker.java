@@ -0,0 +1,342 @@
+package io.github.projectunified.minigamecore.bukkit;
+
+import io.github.projectunified.minigamecore.base.Feature;
+import org.bukkit.Bukkit;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+
+/**
+ * The ticker that runs many {@link BukkitArena} with a single repeating task.
+ * The arenas are grouped by their period, and each group is divided into slots by the tick the arenas are due,
+ * so every tick only visits the arenas that are due.
+ * The synchronous arenas are run in the tick task, and the asynchronous arenas are split into chunks run by the async workers.
+ * If {@link #getTickBudget()} is set, the synchronous arenas stop running once the budget of the tick is used up,
+ * and the skipped arenas run first on the next tick.
+ * While the ticker is overloaded, the arenas with negative {@link BukkitArena#getPriority()} are run at a lower rate.
+ * Register it as a {@link Feature} of a parent unit (e.g. the arena manager) so the arenas can find it.
+ * All times are in Bukkit's ticks.
+ */
+public abstract class ArenaTicker implements Feature {
+    private final int asyncParallelism;
+    private final Queue<Registration> pendingRegistrations = new ConcurrentLinkedQueue<>();
+    private final List<Registration> dueAsyncRegistrations = new ArrayList<>();
+    private final Deque<Registration> deferredRegistrations = new ArrayDeque<>();
+    private Bucket[] buckets = new Bucket[0];
+    private long currentTick;
+    private volatile int overloadTicks;
+
+    /**
+     * Create a new ticker
+     *
+     * @param asyncParallelism the maximum number of chunks that the due asynchronous arenas are split into in a tick
+     */
+    protected ArenaTicker(int asyncParallelism) {
+        this.asyncParallelism = Math.max(1, asyncParallelism);
+    }
+
+    /**
+     * Create a new ticker that splits the asynchronous arenas by the number of available processors
+     */
+    protected ArenaTicker() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Start the repeating task that calls the tick task on every tick
+     *
+     * @param tickTask the tick task
+     */
+    protected abstract void startTimer(Runnable tickTask);
+
+    /**
+     * Stop the repeating task
+     */
+    protected abstract void stopTimer();
+
+    /**
+     * Run the task asynchronously
+     *
+     * @param task the task
+     */
+    protected abstract void runAsync(Runnable task);
+
+    /**
+     * Get the time budget of the synchronous arenas in a tick.
+     * Once the budget is used up, the remaining due arenas are deferred to the next tick.
+     * Default is 0, which means no budget.
+     *
+     * @return the budget in nanoseconds
+     */
+    protected long getTickBudget() {
+        return 0;
+    }
+
+    /**
+     * Get the number of ticks that the ticker is considered overloaded after a tick used up its budget
+     *
+     * @return the number of ticks
+     */
+    protected int getOverloadCooldown() {
+        return 20;
+    }
+
+    /**
+     * Get the divisor of the tick rate of the low-priority arenas while the ticker is overloaded.
+     * For example, 4 means the low-priority arenas only run on one of every 4 due ticks.
+     *
+     * @return the divisor
+     */
+    protected int getLowPriorityRateDivisor() {
+        return 4;
+    }
+
+    /**
+     * Check if the ticker is overloaded, which means a recent tick used up its budget
+     *
+     * @return true if it is
+     */
+    public boolean isOverloaded() {
+        return overloadTicks > 0;
+    }
+
+    /**
+     * Handle the exception thrown when running the arena
+     *
+     * @param arena     the arena
+     * @param throwable the exception
+     */
+    protected void handleException(BukkitArena arena, Throwable throwable) {
+        Bukkit.getLogger().log(Level.WARNING, "There is an error when running the arena", throwable);
+    }
+
+    @Override
+    public void init() {
+        startTimer(this::tick);
+    }
+
+    @Override
+    public void clear() {
+        stopTimer();
+        pendingRegistrations.clear();
+        deferredRegistrations.clear();
+        buckets = new Bucket[0];
+    }
+
+    /**
+     * Register the arena to the ticker
+     *
+     * @param arena  the arena
+     * @param delay  the delay before the first run
+     * @param period the period between the runs
+     * @return the registration, which is used to cancel the arena from the ticker
+     */
+    public Registration register(BukkitArena arena, long delay, long period) {
+        if (period <= 0) {
+            throw new IllegalArgumentException("The period must be positive");
+        }
+        Registration registration = new Registration(this, arena, Math.max(0, delay), period);
+        pendingRegistrations.add(registration);
+        return registration;
+    }
+
+    private void tick() {
+        long tick = ++currentTick;
+        applyPendingRegistrations(tick);
+
+        long budget = getTickBudget();
+        long startTime = budget > 0 ? System.nanoTime() : 0;
+        boolean overloaded = overloadTicks > 0;
+        boolean exhausted = false;
+
+        while (!exhausted && !deferredRegistrations.isEmpty()) {
+            Registration registration = deferredRegistrations.poll();
+            registration.deferred = false;
+            registration.lastRunTick = tick;
+            runArena(registration);
+            exhausted = budget > 0 && System.nanoTime() - startTime >= budget;
+        }
+
+        for (Bucket bucket : buckets) {
+            List<Registration> slot = bucket.slots[(int) (tick % bucket.period)];
+            if (slot == null) {
+                continue;
+            }
+            // Compact the cancelled registrations out of the slot in the same pass
+            int size = slot.size();
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                Registration registration = slot.get(i);
+                if (registration.cancelled) {
+                    continue;
+                }
+                if (kept != i) {
+                    slot.set(kept, registration);
+                }
+                kept++;
+                if (registration.startTick > tick) {
+                    continue;
+                }
+                if (registration.async) {
+                    dueAsyncRegistrations.add(registration);
+                    continue;
+                }
+                if (registration.deferred || registration.lastRunTick == tick) {
+                    continue;
+                }
+                if (overloaded && registration.priority < 0 && ++registration.skippedRuns < getLowPriorityRateDivisor()) {
+                    continue;
+                }
+                registration.skippedRuns = 0;
+                if (exhausted) {
+                    registration.deferred = true;
+                    deferredRegistrations.add(registration);
+                    continue;
+                }
+                registration.lastRunTick = tick;
+                runArena(registration);
+                exhausted = budget > 0 && System.nanoTime() - startTime >= budget;
+            }
+            if (kept < size) {
+                slot.subList(kept, size).clear();
+            }
+        }
+
+        if (exhausted) {
+            overloadTicks = getOverloadCooldown();
+        } else if (overloadTicks > 0) {
+            overloadTicks--;
+        }
+
+        if (!dueAsyncRegistrations.isEmpty()) {
+            dispatchAsync();
+            dueAsyncRegistrations.clear();
+        }
+    }
+
+    private void applyPendingRegistrations(long tick) {
+        Registration registration;
+        while ((registration = pendingRegistrations.poll()) != null) {
+            if (registration.cancelled) {
+                continue;
+            }
+            registration.startTick = tick + registration.delay;
+            getBucket(registration.period).add(registration);
+        }
+    }
+
+    private Bucket getBucket(long period) {
+        for (Bucket bucket : buckets) {
+            if (bucket.period == period) {
+                return bucket;
+            }
+        }
+        Bucket bucket = new Bucket(period);
+        Bucket[] newBuckets = Arrays.copyOf(buckets, buckets.length + 1);
+        newBuckets[buckets.length] = bucket;
+        buckets = newBuckets;
+        return bucket;
+    }
+
+    private void dispatchAsync() {
+        int size = dueAsyncRegistrations.size();
+        int chunkCount = Math.min(asyncParallelism, size);
+        int chunkSize = (size + chunkCount - 1) / chunkCount;
+        for (int start = 0; start < size; start += chunkSize) {
+            Registration[] chunk = dueAsyncRegistrations.subList(start, Math.min(size, start + chunkSize)).toArray(new Registration[0]);
+            runAsync(() -> {
+                for (Registration registration : chunk) {
+                    runArena(registration);
+                }
+            });
+        }
+    }
+
+    private void runArena(Registration registration) {
+        if (registration.cancelled || !registration.running.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            registration.arena.run();
+        } catch (Throwable throwable) {
+            handleException(registration.arena, throwable);
+        } finally {
+            registration.running.set(false);
+        }
+    }
+
+    /**
+     * The registration of an arena in the ticker
+     */
+    public static final class Registration {
+        private final ArenaTicker ticker;
+        private final BukkitArena arena;
+        private final long delay;
+        private final long period;
+        private final boolean async;
+        private final int priority;
+        private final AtomicBoolean running = new AtomicBoolean();
+        private volatile boolean cancelled;
+        private long startTick;
+        private long lastRunTick = -1;
+        private boolean deferred;
+        private int skippedRuns;
+
+        private Registration(ArenaTicker ticker, BukkitArena arena, long delay, long period) {
+            this.ticker = ticker;
+            this.arena = arena;
+            this.delay = delay;
+            this.period = period;
+            this.async = arena.isAsync();
+            this.priority = arena.getPriority();
+        }
+
+        /**
+         * Get the ticker of the registration
+         *
+         * @return the ticker
+         */
+        public ArenaTicker getTicker() {
+            return ticker;
+        }
+
+        /**
+         * Cancel the registration. The arena will be removed from the ticker on the next tick
+         */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        /**
+         * Check if the registration is cancelled
+         *
+         * @return true if it is
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private static final class Bucket {
+        private final long period;
+        private final List<Registration>[] slots;
+
+        @SuppressWarnings("unchecked")
+        private Bucket(long period) {
+            this.period = period;
+            this.slots = new List[(int) period];
+        }
+
+        private void add(Registration registration) {
+            int index = (int) (registration.startTick % period);
+            List<Registration> slot = slots[index];
+            if (slot == null) {
+                slot = new ArrayList<>();
+                slots[index] = slot;
+            }
+            slot.add(registration);
+        }
+    }
+}
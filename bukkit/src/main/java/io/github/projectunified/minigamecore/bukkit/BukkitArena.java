@@ -39,8 +39,22 @@ public abstract class BukkitArena extends Arena {
         return true;
     }
 
+    /**
+     * Get the priority of the arena when it's run by an overloaded {@link ArenaTicker}.
+     * The arenas with negative priority are run at a lower rate while the ticker is overloaded.
+     * Default is 0
+     *
+     * @return the priority
+     */
+    public int getPriority() {
+        return 0;
+    }
+
     @Override
     protected boolean callStateChanged(GameState oldStage, GameState newStage) {
+        if (!ArenaChangeStateEvent.hasListeners()) {
+            return true;
+        }
         ArenaChangeStateEvent event = new ArenaChangeStateEvent(this, oldStage, newStage);
         Bukkit.getPluginManager().callEvent(event);
         return !event.isCancelled();
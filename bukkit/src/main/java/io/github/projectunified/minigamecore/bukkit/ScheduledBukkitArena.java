@@ -0,0 +1,104 @@
+package io.github.projectunified.minigamecore.bukkit;
+
+import io.github.projectunified.minigamecore.base.ArenaTask;
+import io.github.projectunified.minigamecore.base.FeatureUnit;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.extra.TimePeriod;
+
+import java.util.List;
+
+/**
+ * The {@link BukkitArena} that is run by its own repeating task, or by the {@link ArenaTicker} from {@link #getTicker()} if present.
+ * The task is cancelled while the arena is sleeping, and is started again when the arena is woken up.
+ * {@link #getPeriod()} and {@link #getDelay()} will return the time in Bukkit's ticks (20 ticks = 1 seconds).
+ * If the current {@link GameState} implements {@link TimePeriod}, its period is used instead while the state is active.
+ * Call the super method when overriding {@link #initArena()} or {@link #clearArena()}, as they start and cancel the task.
+ */
+public abstract class ScheduledBukkitArena extends BukkitArena implements TimePeriod {
+    private final ArenaTask task = new ArenaTask(this, this::scheduleTask, state -> getTimePeriod(state).getDelay(), state -> getTimePeriod(state).getPeriod(), 1);
+
+    /**
+     * Create a new arena
+     *
+     * @param parentList the parent {@link FeatureUnit} list
+     */
+    public ScheduledBukkitArena(List<FeatureUnit> parentList) {
+        super(parentList);
+    }
+
+    /**
+     * Create a new arena
+     *
+     * @param parent the parent {@link FeatureUnit}
+     */
+    public ScheduledBukkitArena(FeatureUnit... parent) {
+        super(parent);
+    }
+
+    @Override
+    public long getDelay() {
+        return 20;
+    }
+
+    @Override
+    public long getPeriod() {
+        return 20;
+    }
+
+    /**
+     * Get the ticker to run the arena instead of its own task.
+     * Default is null
+     *
+     * @return the ticker, or null to run the arena by {@link #startTask(long, long)}
+     */
+    protected ArenaTicker getTicker() {
+        return null;
+    }
+
+    /**
+     * Start the repeating task that runs the arena
+     *
+     * @param delay  the delay before the first run
+     * @param period the period between the runs
+     * @return the handle to cancel the task
+     * @see ArenaTask.Scheduler#schedule(long, long)
+     */
+    protected abstract ArenaTask.Handle startTask(long delay, long period);
+
+    private TimePeriod getTimePeriod(GameState state) {
+        return state instanceof TimePeriod ? (TimePeriod) state : this;
+    }
+
+    private ArenaTask.Handle scheduleTask(long delay, long period) {
+        ArenaTicker ticker = getTicker();
+        if (ticker != null) {
+            return ticker.register(this, delay, period)::cancel;
+        }
+        return startTask(delay, period);
+    }
+
+    @Override
+    protected void initArena() {
+        task.start();
+    }
+
+    @Override
+    protected void onSleep() {
+        task.cancel();
+    }
+
+    @Override
+    protected void onWake() {
+        task.wake();
+    }
+
+    @Override
+    protected void onStateChanged(GameState oldState, GameState newState) {
+        task.reschedule(newState);
+    }
+
+    @Override
+    protected void clearArena() {
+        task.cancel();
+    }
+}
@@ -1,19 +1,16 @@
 package io.github.projectunified.minigamecore.bukkit.event;
 
-import io.github.projectunified.minigamecore.base.Arena;
 import io.github.projectunified.minigamecore.base.GameState;
 import io.github.projectunified.minigamecore.bukkit.BukkitArena;
 import org.bukkit.event.Cancellable;
-import org.bukkit.event.Event;
 import org.bukkit.event.HandlerList;
 
 /**
  * The event called when an arena changed its state.
  * If you modified the next state in this event, you should cancel the event with {@link #setCancelled(boolean)}.
  */
-public class ArenaChangeStateEvent extends Event implements Cancellable {
+public class ArenaChangeStateEvent extends ArenaEvent implements Cancellable {
     private static final HandlerList HANDLERS = new HandlerList();
-    private final BukkitArena arena;
     private final GameState oldState;
     private final GameState newState;
     private boolean cancelled = false;
@@ -26,8 +23,7 @@ public class ArenaChangeStateEvent extends Event implements Cancellable {
      * @param newState the new game state
      */
     public ArenaChangeStateEvent(BukkitArena arena, GameState oldState, GameState newState) {
-        super(arena.isAsync());
-        this.arena = arena;
+        super(arena);
         this.oldState = oldState;
         this.newState = newState;
     }
@@ -41,6 +37,15 @@ public class ArenaChangeStateEvent extends Event implements Cancellable {
         return HANDLERS;
     }
 
+    /**
+     * Check if the event has any registered listener
+     *
+     * @return true if it has
+     */
+    public static boolean hasListeners() {
+        return hasListeners(HANDLERS);
+    }
+
     @Override
     public boolean isCancelled() {
         return cancelled;
@@ -56,15 +61,6 @@ public class ArenaChangeStateEvent extends Event implements Cancellable {
         return getHandlerList();
     }
 
-    /**
-     * Get the arena
-     *
-     * @return the arena
-     */
-    public Arena getArena() {
-        return arena;
-    }
-
     /**
      * Get the old game state
      *
@@ -0,0 +1,44 @@
+package io.github.projectunified.minigamecore.bukkit.event;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.bukkit.BukkitArena;
+import org.bukkit.event.Event;
+import org.bukkit.event.HandlerList;
+
+/**
+ * The base event of a {@link BukkitArena}.
+ * The event is asynchronous if the arena is asynchronous.
+ */
+public abstract class ArenaEvent extends Event {
+    private final BukkitArena arena;
+
+    /**
+     * Construct the event
+     *
+     * @param arena the arena
+     */
+    protected ArenaEvent(BukkitArena arena) {
+        super(arena.isAsync());
+        this.arena = arena;
+    }
+
+    /**
+     * Check if the handler list has any registered listener.
+     * Use this to skip constructing and calling the event when no one listens to it.
+     *
+     * @param handlerList the handler list of the event
+     * @return true if it has
+     */
+    public static boolean hasListeners(HandlerList handlerList) {
+        return handlerList.getRegisteredListeners().length > 0;
+    }
+
+    /**
+     * Get the arena
+     *
+     * @return the arena
+     */
+    public Arena getArena() {
+        return arena;
+    }
+}
@@ -4,12 +4,47 @@ import io.github.projectunified.minigamecore.base.Feature;
 
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * The timer feature, which provides duration
+ * The timer feature, which provides duration.
+ * The time is measured by {@link System#nanoTime()}, so it's not affected by the changes of the system clock.
+ * If the timer is created with a {@link TimerService}, it can also run a callback when the duration ends,
+ * so the game states don't need to poll {@link #isRunning()} on every update.
  */
 public class TimerFeature implements Feature {
-    private final AtomicLong currentEndTime = new AtomicLong();
+    private final AtomicLong currentEndTime = new AtomicLong(System.nanoTime());
+    private final AtomicReference<TimerService.Timeout> currentTimeout = new AtomicReference<>();
+    private final TimerService timerService;
+
+    /**
+     * Create a new timer feature that runs the expiry callbacks with the timer service
+     *
+     * @param timerService the timer service, or null to not support the expiry callbacks
+     */
+    public TimerFeature(TimerService timerService) {
+        this.timerService = timerService;
+    }
+
+    /**
+     * Create a new timer feature without the support of the expiry callbacks
+     */
+    public TimerFeature() {
+        this(null);
+    }
+
+    /**
+     * Get the timer service that runs the expiry callbacks
+     *
+     * @return the timer service, or null if not set
+     */
+    public TimerService getTimerService() {
+        return timerService;
+    }
+
+    private long getRemainingNanos() {
+        return currentEndTime.get() - System.nanoTime();
+    }
 
     /**
      * Get the duration of the timer in milliseconds
@@ -17,9 +52,7 @@ public class TimerFeature implements Feature {
      * @return the duration
      */
     public long getDuration() {
-        long current = System.currentTimeMillis();
-        long endTime = currentEndTime.get();
-        return Math.max(0, endTime - current);
+        return getDuration(TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -28,8 +61,7 @@ public class TimerFeature implements Feature {
      * @param duration the duration
      */
     public void setDuration(long duration) {
-        long current = System.currentTimeMillis();
-        currentEndTime.set(current + duration);
+        setDuration(duration, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -39,17 +71,44 @@ public class TimerFeature implements Feature {
      * @return the duration
      */
     public long getDuration(TimeUnit unit) {
-        return unit.convert(getDuration(), TimeUnit.MILLISECONDS);
+        return unit.convert(Math.max(0, getRemainingNanos()), TimeUnit.NANOSECONDS);
     }
 
     /**
-     * Set the duration of the timer
+     * Set the duration of the timer.
+     * This will cancel the expiry callback of the previous duration.
      *
      * @param duration the duration
      * @param unit     the time unit of the duration
      */
     public void setDuration(long duration, TimeUnit unit) {
-        setDuration(unit.toMillis(duration));
+        cancelTimeout(null);
+        currentEndTime.set(System.nanoTime() + unit.toNanos(duration));
+    }
+
+    /**
+     * Set the duration of the timer and the callback to run when the duration ends.
+     * This will cancel the expiry callback of the previous duration.
+     * The callback is run on the thread of the {@link TimerService}.
+     *
+     * @param duration the duration
+     * @param unit     the time unit of the duration
+     * @param onExpire the callback
+     * @throws IllegalStateException if the timer is not created with a {@link TimerService}
+     */
+    public void setDuration(long duration, TimeUnit unit, Runnable onExpire) {
+        if (timerService == null) {
+            throw new IllegalStateException("The timer is not created with a timer service");
+        }
+        currentEndTime.set(System.nanoTime() + unit.toNanos(duration));
+        cancelTimeout(timerService.schedule(onExpire, duration, unit));
+    }
+
+    private void cancelTimeout(TimerService.Timeout newTimeout) {
+        TimerService.Timeout oldTimeout = currentTimeout.getAndSet(newTimeout);
+        if (oldTimeout != null) {
+            oldTimeout.cancel();
+        }
     }
 
     /**
@@ -58,7 +117,7 @@ public class TimerFeature implements Feature {
      * @return true if it is
      */
     public boolean isRunning() {
-        return getDuration() > 0;
+        return getRemainingNanos() > 0;
     }
 
     /**
@@ -72,6 +131,7 @@ public class TimerFeature implements Feature {
 
     @Override
     public void clear() {
-        currentEndTime.lazySet(0);
+        cancelTimeout(null);
+        currentEndTime.set(System.nanoTime());
     }
 }
@@ -0,0 +1,302 @@
+package io.github.projectunified.minigamecore.feature;
+
+import io.github.projectunified.minigamecore.base.Feature;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The timer service that fires the expiry callbacks of many timers with a hashed timing wheel.
+ * Scheduling and cancelling a timer cost O(1), and a single worker thread advances the wheel on every tick,
+ * so there is no need to poll the timers.
+ * The time is measured by {@link System#nanoTime()}.
+ * The callbacks are run on the worker thread, so they should be short, or hand the work off to another thread.
+ * Register it as a {@link Feature} of a parent unit (e.g. the arena manager) to share it with the arenas.
+ */
+public class TimerService implements Feature {
+    private static final Logger LOGGER = Logger.getLogger(TimerService.class.getName());
+    private static final int MAX_TRANSFER_PER_TICK = 100000;
+    private static final AtomicInteger SERVICE_COUNT = new AtomicInteger();
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelledTimeouts = new ConcurrentLinkedQueue<>();
+    private volatile Thread workerThread;
+    private volatile long startTime;
+    private long tick;
+
+    /**
+     * Create a new timer service
+     *
+     * @param tickDuration the duration of a tick of the wheel, which is the precision of the timers
+     * @param unit         the time unit of the tick duration
+     * @param wheelSize    the number of buckets of the wheel, rounded up to a power of two
+     */
+    public TimerService(long tickDuration, TimeUnit unit, int wheelSize) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("The tick duration must be positive");
+        }
+        if (wheelSize <= 0) {
+            throw new IllegalArgumentException("The wheel size must be positive");
+        }
+        int normalizedWheelSize = Integer.highestOneBit(wheelSize - 1) << 1;
+        if (normalizedWheelSize <= 0) {
+            normalizedWheelSize = 1;
+        }
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.wheel = new Bucket[normalizedWheelSize];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+    }
+
+    /**
+     * Create a new timer service with the tick duration of 10 milliseconds and 512 buckets
+     */
+    public TimerService() {
+        this(10, TimeUnit.MILLISECONDS, 512);
+    }
+
+    @Override
+    public void init() {
+        this.tick = 0;
+        this.startTime = System.nanoTime();
+        Thread thread = new Thread(this::runWorker, "MinigameCore-TimerService-" + SERVICE_COUNT.incrementAndGet());
+        thread.setDaemon(true);
+        this.workerThread = thread;
+        thread.start();
+    }
+
+    @Override
+    public void clear() {
+        Thread thread = this.workerThread;
+        this.workerThread = null;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            if (thread != Thread.currentThread()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        pendingTimeouts.clear();
+        cancelledTimeouts.clear();
+        for (Bucket bucket : wheel) {
+            bucket.clear();
+        }
+    }
+
+    /**
+     * Check if the service is running
+     *
+     * @return true if it is
+     */
+    public boolean isRunning() {
+        return workerThread != null;
+    }
+
+    /**
+     * Schedule the task to be run once after the delay
+     *
+     * @param task  the task
+     * @param delay the delay
+     * @param unit  the time unit of the delay
+     * @return the timeout, which can be used to cancel the task
+     */
+    public Timeout schedule(Runnable task, long delay, TimeUnit unit) {
+        if (!isRunning()) {
+            throw new IllegalStateException("The timer service is not running");
+        }
+        Timeout timeout = new Timeout(this, task, System.nanoTime() + unit.toNanos(Math.max(0, delay)));
+        pendingTimeouts.add(timeout);
+        return timeout;
+    }
+
+    private void runWorker() {
+        Thread currentThread = Thread.currentThread();
+        while (workerThread == currentThread) {
+            waitForNextTick(currentThread);
+            if (workerThread != currentThread) {
+                break;
+            }
+            removeCancelledTimeouts();
+            transferTimeoutsToBuckets();
+            wheel[(int) (tick & mask)].expireTimeouts();
+            tick++;
+        }
+    }
+
+    private void waitForNextTick(Thread currentThread) {
+        long deadline = tickNanos * (tick + 1);
+        while (workerThread == currentThread) {
+            long sleepNanos = deadline - (System.nanoTime() - startTime);
+            if (sleepNanos <= 0) {
+                return;
+            }
+            LockSupport.parkNanos(this, sleepNanos);
+        }
+    }
+
+    private void removeCancelledTimeouts() {
+        Timeout timeout;
+        while ((timeout = cancelledTimeouts.poll()) != null) {
+            if (timeout.bucket != null) {
+                timeout.bucket.remove(timeout);
+            }
+        }
+    }
+
+    private void transferTimeoutsToBuckets() {
+        for (int i = 0; i < MAX_TRANSFER_PER_TICK; i++) {
+            Timeout timeout = pendingTimeouts.poll();
+            if (timeout == null) {
+                break;
+            }
+            if (timeout.isCancelled()) {
+                continue;
+            }
+            long calculatedTick = Math.max(0, timeout.deadline - startTime) / tickNanos;
+            timeout.remainingRounds = (calculatedTick - tick) / wheel.length;
+            long targetTick = Math.max(calculatedTick, tick);
+            wheel[(int) (targetTick & mask)].add(timeout);
+        }
+    }
+
+    /**
+     * The timeout of a scheduled task
+     */
+    public static final class Timeout {
+        private static final int STATE_PENDING = 0;
+        private static final int STATE_CANCELLED = 1;
+        private static final int STATE_EXPIRED = 2;
+
+        private final TimerService service;
+        private final Runnable task;
+        private final long deadline;
+        private final AtomicInteger state = new AtomicInteger(STATE_PENDING);
+        private long remainingRounds;
+        private Timeout next;
+        private Timeout previous;
+        private Bucket bucket;
+
+        private Timeout(TimerService service, Runnable task, long deadline) {
+            this.service = service;
+            this.task = task;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Cancel the task
+         *
+         * @return true if the task is cancelled, false if it's already cancelled or expired
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_CANCELLED)) {
+                return false;
+            }
+            if (service.isRunning()) {
+                service.cancelledTimeouts.add(this);
+            }
+            return true;
+        }
+
+        /**
+         * Check if the task is cancelled
+         *
+         * @return true if it is
+         */
+        public boolean isCancelled() {
+            return state.get() == STATE_CANCELLED;
+        }
+
+        /**
+         * Check if the task is expired, which means it has been run
+         *
+         * @return true if it is
+         */
+        public boolean isExpired() {
+            return state.get() == STATE_EXPIRED;
+        }
+
+        private void expire() {
+            if (!state.compareAndSet(STATE_PENDING, STATE_EXPIRED)) {
+                return;
+            }
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                LOGGER.log(Level.WARNING, "There is an error when running the timer task", throwable);
+            }
+        }
+    }
+
+    /**
+     * The bucket of the wheel, which is a doubly linked list of timeouts
+     */
+    private static final class Bucket {
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(Timeout timeout) {
+            timeout.bucket = this;
+            if (head == null) {
+                head = tail = timeout;
+            } else {
+                tail.next = timeout;
+                timeout.previous = tail;
+                tail = timeout;
+            }
+        }
+
+        private Timeout remove(Timeout timeout) {
+            Timeout next = timeout.next;
+            if (timeout.previous != null) {
+                timeout.previous.next = next;
+            }
+            if (timeout.next != null) {
+                timeout.next.previous = timeout.previous;
+            }
+            if (timeout == head) {
+                head = next;
+            }
+            if (timeout == tail) {
+                tail = timeout.previous;
+            }
+            timeout.previous = null;
+            timeout.next = null;
+            timeout.bucket = null;
+            return next;
+        }
+
+        private void expireTimeouts() {
+            Timeout timeout = head;
+            while (timeout != null) {
+                if (timeout.remainingRounds <= 0) {
+                    Timeout next = remove(timeout);
+                    timeout.expire();
+                    timeout = next;
+                } else if (timeout.isCancelled()) {
+                    timeout = remove(timeout);
+                } else {
+                    timeout.remainingRounds--;
+                    timeout = timeout.next;
+                }
+            }
+        }
+
+        private void clear() {
+            head = null;
+            tail = null;
+        }
+    }
+}
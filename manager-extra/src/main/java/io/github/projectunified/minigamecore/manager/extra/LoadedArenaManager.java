@@ -5,7 +5,7 @@ import io.github.projectunified.minigamecore.base.FeatureUnit;
 import io.github.projectunified.minigamecore.manager.ArenaManager;
 import io.github.projectunified.minigamecore.manager.ManagedArena;
 
-import java.util.List;
+import java.util.*;
 
 /**
  * The {@link ArenaManager} with loaded arenas on initialization
@@ -46,17 +46,93 @@ public abstract class LoadedArenaManager<T, A extends Arena & ManagedArena<T>> e
     protected abstract List<A> loadArenas();
 
     /**
-     * Reload the arenas
+     * Reload the arenas.
+     * All arenas are cleared and loaded again.
      */
     public void reloadArena() {
         clearAllArenas();
-        loadArenas().forEach(arena -> {
-            if (addArena(arena)) {
-                onArenaSucceedToLoad(arena);
-            } else {
-                onArenaFailToLoad(arena);
+        loadArenas().forEach(this::loadArena);
+    }
+
+    /**
+     * Reload the arenas incrementally.
+     * The loaded arenas are compared with the current arenas by their identifiers:
+     * the new arenas are added, the missing arenas are removed,
+     * and the changed arenas are replaced.
+     * The unchanged arenas keep running, and their newly loaded copies are discarded without being initialized.
+     * The arenas are compared before any of them is removed or added.
+     * The loaded arenas with a duplicated identifier are passed to {@link #onArenaFailToLoad(Arena)}, as in {@link #reloadArena()}.
+     * Without the definitions of the arenas, every current arena is considered changed and replaced.
+     *
+     * @see #isArenaChanged(Arena, Arena)
+     * @see #getArenaDefinition(Arena)
+     */
+    public void reloadArenaIncrementally() {
+        Map<T, A> loadedArenaMap = new LinkedHashMap<>();
+        List<A> duplicatedArenas = new ArrayList<>();
+        for (A arena : loadArenas()) {
+            if (loadedArenaMap.putIfAbsent(arena.getIdentifier(), arena) != null) {
+                duplicatedArenas.add(arena);
+            }
+        }
+
+        List<T> removedIdentifiers = new ArrayList<>();
+        for (A currentArena : getAllArenas()) {
+            if (!loadedArenaMap.containsKey(currentArena.getIdentifier())) {
+                removedIdentifiers.add(currentArena.getIdentifier());
+            }
+        }
+
+        List<A> addedArenas = new ArrayList<>();
+        loadedArenaMap.forEach((identifier, loadedArena) -> {
+            Optional<A> currentArena = getArena(identifier);
+            if (!currentArena.isPresent()) {
+                addedArenas.add(loadedArena);
+            } else if (isArenaChanged(currentArena.get(), loadedArena)) {
+                removedIdentifiers.add(identifier);
+                addedArenas.add(loadedArena);
             }
         });
+
+        removedIdentifiers.forEach(this::removeArena);
+        addedArenas.forEach(this::loadArena);
+        duplicatedArenas.forEach(this::onArenaFailToLoad);
+    }
+
+    private void loadArena(A arena) {
+        if (addArena(arena)) {
+            onArenaSucceedToLoad(arena);
+        } else {
+            onArenaFailToLoad(arena);
+        }
+    }
+
+    /**
+     * Check if the definition of the arena is changed.
+     * Used by {@link #reloadArenaIncrementally()} to decide whether the current arena should be replaced.
+     * Default will compare the definitions from {@link #getArenaDefinition(Arena)} with {@link Object#equals(Object)},
+     * and consider the arena changed if any of the definitions is null.
+     *
+     * @param currentArena the current arena
+     * @param loadedArena  the newly loaded arena with the same identifier
+     * @return true if the arena should be replaced
+     */
+    protected boolean isArenaChanged(A currentArena, A loadedArena) {
+        Object currentDefinition = getArenaDefinition(currentArena);
+        Object loadedDefinition = getArenaDefinition(loadedArena);
+        return currentDefinition == null || loadedDefinition == null || !currentDefinition.equals(loadedDefinition);
+    }
+
+    /**
+     * Get the definition of the arena, which is the value object of the settings the arena is loaded from (e.g. the map, the spawn points, the player limits).
+     * Two arenas with equal definitions are considered the same by {@link #isArenaChanged(Arena, Arena)}.
+     * Default is null, which means the arena is always replaced by {@link #reloadArenaIncrementally()}.
+     *
+     * @param arena the arena
+     * @return the definition, or null if not present
+     */
+    protected Object getArenaDefinition(A arena) {
+        return null;
     }
 
     /**
@@ -1,20 +1,39 @@
 package io.github.projectunified.minigamecore.manager;
 
 import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.ArenaMetrics;
 import io.github.projectunified.minigamecore.base.FeatureUnit;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.base.StateListener;
 
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
- * The manager that handles all arenas
+ * The manager that handles all arenas.
+ * The manager is thread-safe: the lookups never block, and the arenas can be added or removed from any thread.
  *
  * @param <T> the type of the identifier of the arena
  * @param <A> the type of the arena
  */
 public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends FeatureUnit {
-    private final Map<T, A> arenaMap = new HashMap<>();
+    private static final int INDEX_LOCK_COUNT = 64;
+
+    private final Map<T, A> arenaMap = new ConcurrentHashMap<>();
+    private final Map<Class<? extends GameState>, Set<A>> stateIndex = new ConcurrentHashMap<>();
+    private final Object[] indexLocks = new Object[INDEX_LOCK_COUNT];
+    private final StateListener stateListener = this::onArenaStateChanged;
+    private final AtomicLong modificationCount = new AtomicLong();
+    private final AtomicReference<Snapshot<A>> snapshot = new AtomicReference<>();
+    private final ArenaManagerStatistics<T, A> statistics = new ArenaManagerStatistics<>(this);
+    private volatile ObjectName mBeanName;
 
     /**
      * Create a new arena manager
@@ -23,6 +42,7 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
      */
     public ArenaManager(List<FeatureUnit> parentList) {
         super(parentList);
+        initIndexLocks();
     }
 
     /**
@@ -32,20 +52,94 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
      */
     public ArenaManager(FeatureUnit... parent) {
         super(parent);
+        initIndexLocks();
+    }
+
+    private void initIndexLocks() {
+        for (int i = 0; i < indexLocks.length; i++) {
+            indexLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Get the lock that serializes the index updates of the arenas with the identifier
+     *
+     * @param identifier the identifier
+     * @return the lock
+     */
+    private Object getIndexLock(T identifier) {
+        int hash = identifier == null ? 0 : identifier.hashCode();
+        hash ^= hash >>> 16;
+        return indexLocks[hash & (INDEX_LOCK_COUNT - 1)];
+    }
+
+    @Override
+    protected StateListener getStateListener() {
+        return stateListener;
     }
 
     @Override
     public void postInit() {
         super.postInit();
-        arenaMap.values().forEach(Arena::postInit);
+        getAllArenas().forEach(Arena::postInit);
     }
 
     @Override
     public void clear() {
+        unregisterMBean();
         clearAllArenas();
         super.clear();
     }
 
+    /**
+     * Check if the arenas should be instrumented with {@link ArenaMetrics} when they are added to the manager.
+     * Default is false
+     *
+     * @return true if they should
+     */
+    protected boolean isMetricsEnabled() {
+        return false;
+    }
+
+    /**
+     * Get the aggregated tick metrics of the arenas
+     *
+     * @return the statistics
+     */
+    public ArenaManagerStatistics<T, A> getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Register the {@link #getStatistics()} to the platform MBean server.
+     * The MBean will be unregistered when the manager is cleared.
+     *
+     * @param name the name of the manager in the object name
+     */
+    public void registerMBean(String name) {
+        try {
+            ObjectName objectName = new ObjectName("io.github.projectunified.minigamecore:type=ArenaManager,name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(statistics, objectName);
+            this.mBeanName = objectName;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the MBean of the arena manager", e);
+        }
+    }
+
+    /**
+     * Unregister the {@link #getStatistics()} from the platform MBean server if it's registered
+     */
+    public void unregisterMBean() {
+        ObjectName objectName = this.mBeanName;
+        if (objectName == null) return;
+        this.mBeanName = null;
+        try {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        } catch (JMException e) {
+            // IGNORED
+        }
+    }
+
     /**
      * Check if the arena manager contains the arena
      *
@@ -66,6 +160,94 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
         return Optional.ofNullable(arenaMap.get(identifier));
     }
 
+    /**
+     * Get the arenas currently in the game state.
+     * The arenas are indexed under the class of their current state and all of its super classes that are game states,
+     * the same classes the state is registered under, so a super class matches the arenas in any of its sub states.
+     * The result is a live view backed by an index that is updated on every state transition,
+     * so iterating it only costs the number of matched arenas, and it's safe to be read from any thread.
+     *
+     * @param stateClass the class of the game state
+     * @return the arenas in the game state
+     */
+    public Collection<A> getArenasByState(Class<? extends GameState> stateClass) {
+        return new AbstractCollection<A>() {
+            private Set<A> getArenas() {
+                return stateIndex.getOrDefault(stateClass, Collections.emptySet());
+            }
+
+            @Override
+            public Iterator<A> iterator() {
+                return Collections.unmodifiableSet(getArenas()).iterator();
+            }
+
+            @Override
+            public int size() {
+                return getArenas().size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return getArenas().contains(o);
+            }
+        };
+    }
+
+    private void onArenaStateChanged(Arena arena, Class<? extends GameState> oldState, Class<? extends GameState> newState) {
+        if (!(arena instanceof ManagedArena)) return;
+        //noinspection unchecked
+        T identifier = ((ManagedArena<T>) arena).getIdentifier();
+        synchronized (getIndexLock(identifier)) {
+            A managedArena = arenaMap.get(identifier);
+            if (managedArena != arena) return;
+            if (oldState != null) {
+                for (Class<? extends GameState> stateClass : getGameStateSuperClasses(oldState)) {
+                    removeFromIndex(stateClass, managedArena);
+                }
+            }
+            for (Class<? extends GameState> stateClass : getGameStateSuperClasses(newState)) {
+                addToIndex(stateClass, managedArena);
+            }
+        }
+    }
+
+    private void addToIndex(Class<? extends GameState> stateClass, A arena) {
+        stateIndex.compute(stateClass, (k, arenas) -> {
+            if (arenas == null) {
+                arenas = ConcurrentHashMap.newKeySet();
+            }
+            arenas.add(arena);
+            return arenas;
+        });
+    }
+
+    private void removeFromIndex(Class<? extends GameState> stateClass, A arena) {
+        // Drop the empty sets, so the index doesn't keep every state class that was ever entered
+        stateIndex.computeIfPresent(stateClass, (k, arenas) -> {
+            arenas.remove(arena);
+            return arenas.isEmpty() ? null : arenas;
+        });
+    }
+
+    private void indexArena(A arena) {
+        synchronized (getIndexLock(arena.getIdentifier())) {
+            Class<? extends GameState> currentState = arena.getCurrentState();
+            if (currentState != null) {
+                for (Class<? extends GameState> stateClass : getGameStateSuperClasses(currentState)) {
+                    addToIndex(stateClass, arena);
+                }
+            }
+        }
+    }
+
+    private void unindexArena(A arena) {
+        synchronized (getIndexLock(arena.getIdentifier())) {
+            for (Class<? extends GameState> stateClass : stateIndex.keySet()) {
+                removeFromIndex(stateClass, arena);
+            }
+        }
+    }
+
     /**
      * Get the arena map
      *
@@ -76,12 +258,21 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
     }
 
     /**
-     * Get all arenas
+     * Get all arenas.
+     * The result is an immutable snapshot, which is shared until the arenas are modified,
+     * so it's cheap to be iterated repeatedly from any thread.
      *
      * @return the collection of arenas
      */
     public Collection<A> getAllArenas() {
-        return Collections.unmodifiableCollection(arenaMap.values());
+        long currentModificationCount = modificationCount.get();
+        Snapshot<A> currentSnapshot = snapshot.get();
+        if (currentSnapshot != null && currentSnapshot.modificationCount == currentModificationCount) {
+            return currentSnapshot.arenas;
+        }
+        Snapshot<A> newSnapshot = new Snapshot<>(currentModificationCount, Collections.unmodifiableList(new ArrayList<>(arenaMap.values())));
+        snapshot.set(newSnapshot);
+        return newSnapshot.arenas;
     }
 
     /**
@@ -97,18 +288,56 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
         if (!arena.isValid()) return false;
         arena.init();
 
-        arenaMap.put(identifier, arena);
+        if (!putArena(arena)) {
+            arena.clear();
+            return false;
+        }
         return true;
     }
 
+    /**
+     * Put the initialized arena to the manager
+     *
+     * @param arena the arena
+     * @return true if the arena is put, false if there is another arena with the same identifier
+     */
+    boolean putArena(A arena) {
+        if (arenaMap.putIfAbsent(arena.getIdentifier(), arena) != null) {
+            return false;
+        }
+        if (isMetricsEnabled() && arena.getMetrics() == null) {
+            arena.setMetrics(new ArenaMetrics());
+        }
+        indexArena(arena);
+        modificationCount.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * Remove the arena from the manager without clearing it
+     *
+     * @param arena the arena
+     * @return true if the arena is removed
+     */
+    boolean detachArena(A arena) {
+        if (arenaMap.remove(arena.getIdentifier(), arena)) {
+            modificationCount.incrementAndGet();
+            unindexArena(arena);
+            return true;
+        }
+        return false;
+    }
+
     /**
      * Remove an arena
      *
      * @param identifier the identifier
      */
     public void removeArena(T identifier) {
-        Arena removed = arenaMap.remove(identifier);
+        A removed = arenaMap.remove(identifier);
         if (removed != null) {
+            modificationCount.incrementAndGet();
+            unindexArena(removed);
             removed.clear();
         }
     }
@@ -117,11 +346,11 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
      * Clear all arenas
      */
     public void clearAllArenas() {
-        arenaMap.values().forEach(arena -> {
-            if (arena == null) return;
-            arena.clear();
-        });
-        arenaMap.clear();
+        for (A arena : getAllArenas()) {
+            if (detachArena(arena)) {
+                arena.clear();
+            }
+        }
     }
 
     /**
@@ -146,4 +375,14 @@ public abstract class ArenaManager<T, A extends Arena & ManagedArena<T>> extends
             return Optional.empty();
         }
     }
+
+    private static final class Snapshot<A> {
+        private final long modificationCount;
+        private final Collection<A> arenas;
+
+        private Snapshot(long modificationCount, Collection<A> arenas) {
+            this.modificationCount = modificationCount;
+            this.arenas = arenas;
+        }
+    }
 }
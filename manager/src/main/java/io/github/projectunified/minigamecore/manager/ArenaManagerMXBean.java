@@ -0,0 +1,105 @@
+package io.github.projectunified.minigamecore.manager;
+
+/**
+ * The management interface of an {@link ArenaManager}, which exposes the tick metrics of its arenas
+ *
+ * @see ArenaManager#registerMBean(String)
+ */
+public interface ArenaManagerMXBean {
+    /**
+     * Get the number of arenas
+     *
+     * @return the number of arenas
+     */
+    int getArenaCount();
+
+    /**
+     * Get the number of ticks of all instrumented arenas
+     *
+     * @return the number of ticks
+     */
+    long getTickCount();
+
+    /**
+     * Get the mean tick latency of all instrumented arenas
+     *
+     * @return the mean latency in microseconds
+     */
+    double getMeanTickMicros();
+
+    /**
+     * Get the 99th percentile tick latency of all instrumented arenas
+     *
+     * @return the latency in microseconds
+     */
+    double getP99TickMicros();
+
+    /**
+     * Get the maximum tick latency of all instrumented arenas
+     *
+     * @return the maximum latency in microseconds
+     */
+    double getMaxTickMicros();
+
+    /**
+     * Get the number of committed state transitions
+     *
+     * @return the number of transitions
+     */
+    long getTransitionCount();
+
+    /**
+     * Get the number of cancelled state transitions
+     *
+     * @return the number of cancelled transitions
+     */
+    long getCancelledTransitionCount();
+
+    /**
+     * Get the number of state transitions rejected by the transition tables of the arenas
+     *
+     * @return the number of rejected transitions
+     */
+    long getRejectedTransitionCount();
+
+    /**
+     * Get the latency summaries of the game states, aggregated from all arenas
+     *
+     * @return the summaries
+     */
+    String[] getStateLatencies();
+
+    /**
+     * Get the latency summaries of the 10 slowest arenas by mean tick latency
+     *
+     * @return the summaries
+     */
+    String[] getSlowestArenas();
+
+    /**
+     * Get the latency summaries of the slowest arenas by mean tick latency
+     *
+     * @param limit the maximum number of arenas
+     * @return the summaries
+     */
+    String[] getSlowestArenas(int limit);
+
+    /**
+     * Get the summaries of the shared features of the arena manager, with the number of the arenas that resolve them
+     *
+     * @return the summaries
+     */
+    String[] getSharedFeatures();
+
+    /**
+     * Get the estimated memory saved by sharing the shared features of the arena manager
+     *
+     * @return the estimated memory in bytes
+     */
+    long getSharedFeatureSavings();
+
+    /**
+     * Reset the metrics of all arenas
+     */
+    void resetMetrics();
+}
@@ -0,0 +1,222 @@
+package io.github.projectunified.minigamecore.manager;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.ArenaMetrics;
+import io.github.projectunified.minigamecore.base.GameState;
+import io.github.projectunified.minigamecore.base.LatencyHistogram;
+
+import java.util.*;
+
+/**
+ * The aggregated tick metrics of the arenas in an {@link ArenaManager}
+ *
+ * @param <T> the type of the identifier of the arena
+ * @param <A> the type of the arena
+ */
+public class ArenaManagerStatistics<T, A extends Arena & ManagedArena<T>> implements ArenaManagerMXBean {
+    private static final int DEFAULT_SLOWEST_LIMIT = 10;
+    private final ArenaManager<T, A> arenaManager;
+
+    /**
+     * Create a new statistics
+     *
+     * @param arenaManager the arena manager
+     */
+    public ArenaManagerStatistics(ArenaManager<T, A> arenaManager) {
+        this.arenaManager = arenaManager;
+    }
+
+    private static double toMicros(double nanos) {
+        return nanos / 1000D;
+    }
+
+    private static String summarize(String name, LatencyHistogram histogram) {
+        return String.format("%s: count=%d, mean=%.1fus, p99=%.1fus, max=%.1fus",
+                name,
+                histogram.getCount(),
+                toMicros(histogram.getMean()),
+                toMicros(histogram.getPercentile(99)),
+                toMicros(histogram.getMax())
+        );
+    }
+
+    /**
+     * Aggregate the tick histograms of all instrumented arenas
+     *
+     * @return the aggregated histogram
+     */
+    public LatencyHistogram getTickHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (A arena : arenaManager.getAllArenas()) {
+            ArenaMetrics metrics = arena.getMetrics();
+            if (metrics != null) {
+                histogram.add(metrics.getTickHistogram());
+            }
+        }
+        return histogram;
+    }
+
+    /**
+     * Aggregate the histograms of the game states of all instrumented arenas
+     *
+     * @return the aggregated histograms by the class of the game state
+     */
+    public Map<Class<? extends GameState>, LatencyHistogram> getStateHistograms() {
+        Map<Class<? extends GameState>, LatencyHistogram> histogramMap = new HashMap<>();
+        for (A arena : arenaManager.getAllArenas()) {
+            ArenaMetrics metrics = arena.getMetrics();
+            if (metrics == null) continue;
+            metrics.getStateHistograms().forEach((stateClass, histogram) -> histogramMap.computeIfAbsent(stateClass, k -> new LatencyHistogram()).add(histogram));
+        }
+        return histogramMap;
+    }
+
+    /**
+     * Get the slowest arenas by mean tick latency, with the snapshots of their tick histograms taken when they are ranked
+     *
+     * @param limit the maximum number of arenas
+     * @return the arenas and their histograms, from the slowest
+     */
+    private List<Map.Entry<A, LatencyHistogram>> getSlowestArenaEntries(int limit) {
+        if (limit <= 0) {
+            return Collections.emptyList();
+        }
+        PriorityQueue<Map.Entry<A, LatencyHistogram>> queue = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(entry -> entry.getValue().getMean()));
+        for (A arena : arenaManager.getAllArenas()) {
+            ArenaMetrics metrics = arena.getMetrics();
+            if (metrics == null) continue;
+            LatencyHistogram histogram = new LatencyHistogram();
+            histogram.add(metrics.getTickHistogram());
+            if (histogram.getCount() == 0) continue;
+            queue.add(new AbstractMap.SimpleImmutableEntry<>(arena, histogram));
+            if (queue.size() > limit) {
+                queue.poll();
+            }
+        }
+        List<Map.Entry<A, LatencyHistogram>> entries = new ArrayList<>(queue.size());
+        while (!queue.isEmpty()) {
+            entries.add(queue.poll());
+        }
+        Collections.reverse(entries);
+        return entries;
+    }
+
+    /**
+     * Get the slowest arenas by mean tick latency
+     *
+     * @param limit the maximum number of arenas
+     * @return the arenas, from the slowest
+     */
+    public List<A> getSlowestArenaList(int limit) {
+        List<Map.Entry<A, LatencyHistogram>> entries = getSlowestArenaEntries(limit);
+        List<A> arenas = new ArrayList<>(entries.size());
+        for (Map.Entry<A, LatencyHistogram> entry : entries) {
+            arenas.add(entry.getKey());
+        }
+        return arenas;
+    }
+
+    @Override
+    public int getArenaCount() {
+        return arenaManager.getAllArenas().size();
+    }
+
+    @Override
+    public long getTickCount() {
+        return getTickHistogram().getCount();
+    }
+
+    @Override
+    public double getMeanTickMicros() {
+        return toMicros(getTickHistogram().getMean());
+    }
+
+    @Override
+    public double getP99TickMicros() {
+        return toMicros(getTickHistogram().getPercentile(99));
+    }
+
+    @Override
+    public double getMaxTickMicros() {
+        return toMicros(getTickHistogram().getMax());
+    }
+
+    @Override
+    public long getTransitionCount() {
+        long count = 0;
+        for (A arena : arenaManager.getAllArenas()) {
+            ArenaMetrics metrics = arena.getMetrics();
+            if (metrics != null) {
+                count += metrics.getTransitionCount();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long getCancelledTransitionCount() {
+        long count = 0;
+        for (A arena : arenaManager.getAllArenas()) {
+            ArenaMetrics metrics = arena.getMetrics();
+            if (metrics != null) {
+                count += metrics.getCancelledTransitionCount();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long getRejectedTransitionCount() {
+        long count = 0;
+        for (A arena : arenaManager.getAllArenas()) {
+            ArenaMetrics metrics = arena.getMetrics();
+            if (metrics != null) {
+                count += metrics.getRejectedTransitionCount();
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String[] getStateLatencies() {
+        return getStateHistograms().entrySet().stream()
+                .sorted(Comparator.comparingDouble((Map.Entry<Class<? extends GameState>, LatencyHistogram> entry) -> entry.getValue().getMean()).reversed())
+                .map(entry -> summarize(entry.getKey().getName(), entry.getValue()))
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public String[] getSlowestArenas() {
+        return getSlowestArenas(DEFAULT_SLOWEST_LIMIT);
+    }
+
+    @Override
+    public String[] getSlowestArenas(int limit) {
+        return getSlowestArenaEntries(limit).stream()
+                .map(entry -> summarize(Objects.toString(entry.getKey().getIdentifier()), entry.getValue()))
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public String[] getSharedFeatures() {
+        return arenaManager.getSharedFeatureReferences().entrySet().stream()
+                .map(entry -> String.format("%s: references=%d", entry.getKey().getName(), entry.getValue()))
+                .sorted()
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public long getSharedFeatureSavings() {
+        return arenaManager.getSharedFeatureSavings();
+    }
+
+    @Override
+    public void resetMetrics() {
+        for (A arena : arenaManager.getAllArenas()) {
+            ArenaMetrics metrics = arena.getMetrics();
+            if (metrics != null) {
+                metrics.reset();
+            }
+        }
+    }
+}
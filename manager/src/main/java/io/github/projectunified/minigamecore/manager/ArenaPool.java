@@ -0,0 +1,231 @@
+package io.github.projectunified.minigamecore.manager;
+
+import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.Feature;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * The pool of pre-initialized arenas of an {@link ArenaManager}.
+ * The pool keeps a number of idle arenas that are already initialized but not added to the manager,
+ * so {@link #acquire()} can hand one out without initializing it.
+ * The arenas are released back to the pool by {@link #release(Arena)}, which resets them for reuse.
+ * Register it as a {@link Feature} of the manager to pre-warm the pool when the manager is initialized,
+ * to post-initialize the idle arenas when the manager is post-initialized, and to clear the idle arenas when the manager is cleared.
+ * The arenas created or recycled by the pool after that are post-initialized right after they are initialized.
+ * The idle arenas are put to sleep by {@link Arena#sleep()}, so the task that runs them is stopped until they are acquired.
+ *
+ * @param <T> the type of the identifier of the arena
+ * @param <A> the type of the arena
+ */
+public class ArenaPool<T, A extends Arena & ManagedArena<T>> implements Feature {
+    private final ArenaManager<T, A> arenaManager;
+    private final Supplier<A> arenaSupplier;
+    private final int capacity;
+    private final Queue<A> idleArenas = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong recycleCount = new AtomicLong();
+    private volatile boolean postInitialized;
+
+    /**
+     * Create a new arena pool
+     *
+     * @param arenaManager  the arena manager
+     * @param arenaSupplier the supplier of new arenas, each of them should have a unique identifier
+     * @param capacity      the maximum number of idle arenas
+     */
+    public ArenaPool(ArenaManager<T, A> arenaManager, Supplier<A> arenaSupplier, int capacity) {
+        this.arenaManager = arenaManager;
+        this.arenaSupplier = arenaSupplier;
+        this.capacity = capacity;
+    }
+
+    @Override
+    public void init() {
+        prewarm();
+    }
+
+    @Override
+    public void postInit() {
+        postInitialized = true;
+        for (A arena : idleArenas) {
+            arena.postInit();
+        }
+    }
+
+    @Override
+    public void clear() {
+        postInitialized = false;
+        A arena;
+        while ((arena = idleArenas.poll()) != null) {
+            idleCount.decrementAndGet();
+            arena.clear();
+        }
+    }
+
+    /**
+     * Fill the pool with new initialized arenas up to its capacity
+     *
+     * @return the number of created arenas
+     */
+    public int prewarm() {
+        int created = 0;
+        while (idleCount.get() < capacity) {
+            A arena = createArena();
+            if (arena == null) {
+                break;
+            }
+            arena.sleep();
+            if (!offer(arena)) {
+                arena.clear();
+                break;
+            }
+            created++;
+        }
+        return created;
+    }
+
+    /**
+     * Take an arena from the pool, add it to the manager and wake it up.
+     * The idle arenas whose identifiers are taken by the arenas of the manager are skipped and kept in the pool.
+     * If there is no usable idle arena, a new arena will be created and initialized.
+     *
+     * @return the arena, or empty if the arena cannot be created or added to the manager
+     */
+    public Optional<A> acquire() {
+        List<A> skippedArenas = new ArrayList<>();
+        try {
+            A arena;
+            while ((arena = idleArenas.poll()) != null) {
+                idleCount.decrementAndGet();
+                if (arenaManager.putArena(arena)) {
+                    hitCount.incrementAndGet();
+                    arena.wake();
+                    return Optional.of(arena);
+                }
+                skippedArenas.add(arena);
+            }
+        } finally {
+            for (A skippedArena : skippedArenas) {
+                if (!offer(skippedArena)) {
+                    skippedArena.clear();
+                }
+            }
+        }
+
+        missCount.incrementAndGet();
+        A arena = createArena();
+        if (arena == null) {
+            return Optional.empty();
+        }
+        if (arenaManager.putArena(arena)) {
+            return Optional.of(arena);
+        }
+        arena.clear();
+        return Optional.empty();
+    }
+
+    /**
+     * Remove the arena from the manager and release it back to the pool.
+     * The arena is cleared and initialized again, so it's ready for the next {@link #acquire()}.
+     * It's also post-initialized if the pool is post-initialized.
+     * If the pool is full, the arena is cleared and discarded.
+     *
+     * @param arena the arena
+     */
+    public void release(A arena) {
+        if (!arenaManager.detachArena(arena)) {
+            return;
+        }
+        arena.clear();
+        if (idleCount.get() >= capacity || !arena.isValid()) {
+            return;
+        }
+        initArena(arena);
+        arena.sleep();
+        if (offer(arena)) {
+            recycleCount.incrementAndGet();
+        } else {
+            arena.clear();
+        }
+    }
+
+    private A createArena() {
+        A arena = arenaSupplier.get();
+        if (arena == null || !arena.isValid()) {
+            return null;
+        }
+        initArena(arena);
+        return arena;
+    }
+
+    private void initArena(A arena) {
+        arena.init();
+        if (postInitialized) {
+            arena.postInit();
+        }
+    }
+
+    private boolean offer(A arena) {
+        if (idleCount.incrementAndGet() > capacity) {
+            idleCount.decrementAndGet();
+            return false;
+        }
+        idleArenas.add(arena);
+        return true;
+    }
+
+    /**
+     * Get the maximum number of idle arenas
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the number of idle arenas
+     *
+     * @return the number of idle arenas
+     */
+    public int getIdleCount() {
+        return idleCount.get();
+    }
+
+    /**
+     * Get the number of times {@link #acquire()} took an idle arena
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Get the number of times {@link #acquire()} had to create a new arena
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Get the number of arenas that were released back to the pool
+     *
+     * @return the recycle count
+     */
+    public long getRecycleCount() {
+        return recycleCount.get();
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.projectunified.minigamecore.processor;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Generate the wiring class of the annotated {@code FeatureUnit}, named after the unit with the {@code Wiring} suffix.
+ * The wiring class holds the super classes of the listed features and game states as a static table,
+ * which implements {@code TypeHierarchy} and is returned by {@code FeatureUnit#getTypeHierarchy()} through its {@code INSTANCE},
+ * and a typed accessor for each of the listed classes.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface Wiring {
+    /**
+     * The classes of the features of the unit
+     *
+     * @return the classes
+     */
+    Class<?>[] features() default {};
+
+    /**
+     * The classes of the game states of the unit
+     *
+     * @return the classes
+     */
+    Class<?>[] gameStates() default {};
+}
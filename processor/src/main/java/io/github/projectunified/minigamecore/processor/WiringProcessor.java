@@ -0,0 +1,229 @@
+package io.github.projectunified.minigamecore.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.*;
+
+/**
+ * The processor of {@link Wiring}
+ */
+@SupportedAnnotationTypes("io.github.projectunified.minigamecore.processor.Wiring")
+public class WiringProcessor extends AbstractProcessor {
+    private static final String BASE_PACKAGE = "io.github.projectunified.minigamecore.base";
+    private static final String FEATURE_UNIT = BASE_PACKAGE + ".FeatureUnit";
+    private static final String FEATURE = BASE_PACKAGE + ".Feature";
+    private static final String GAME_STATE = BASE_PACKAGE + ".GameState";
+    private static final String TYPE_HIERARCHY = BASE_PACKAGE + ".TypeHierarchy";
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        Elements elements = processingEnv.getElementUtils();
+        TypeElement featureUnitElement = elements.getTypeElement(FEATURE_UNIT);
+        TypeElement featureElement = elements.getTypeElement(FEATURE);
+        TypeElement gameStateElement = elements.getTypeElement(GAME_STATE);
+        if (featureUnitElement == null || featureElement == null || gameStateElement == null) {
+            if (!roundEnv.getElementsAnnotatedWith(Wiring.class).isEmpty()) {
+                error(null, "The classes of " + BASE_PACKAGE + " are not found in the classpath");
+            }
+            return true;
+        }
+
+        for (Element element : roundEnv.getElementsAnnotatedWith(Wiring.class)) {
+            if (element.getKind() != ElementKind.CLASS || !isSubtype(element.asType(), featureUnitElement)) {
+                error(element, "@Wiring can only be used on a subclass of " + FEATURE_UNIT);
+                continue;
+            }
+            TypeElement unitElement = (TypeElement) element;
+            List<TypeElement> features = getClassValues(unitElement, "features");
+            List<TypeElement> gameStates = getClassValues(unitElement, "gameStates");
+            if (!checkSubtypes(unitElement, features, featureElement) || !checkSubtypes(unitElement, gameStates, gameStateElement)) {
+                continue;
+            }
+            try {
+                generate(unitElement, features, featureElement, gameStates, gameStateElement);
+            } catch (IOException e) {
+                error(unitElement, "Cannot generate the wiring class: " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+
+    private boolean isSubtype(TypeMirror type, TypeElement baseElement) {
+        Types types = processingEnv.getTypeUtils();
+        return types.isAssignable(types.erasure(type), types.erasure(baseElement.asType()));
+    }
+
+    private boolean checkSubtypes(TypeElement unitElement, List<TypeElement> classes, TypeElement baseElement) {
+        boolean valid = true;
+        for (TypeElement classElement : classes) {
+            if (!isSubtype(classElement.asType(), baseElement)) {
+                error(unitElement, classElement.getQualifiedName() + " is not a subtype of " + baseElement.getQualifiedName());
+                valid = false;
+            }
+        }
+        return valid;
+    }
+
+    private List<TypeElement> getClassValues(TypeElement unitElement, String name) {
+        List<TypeElement> classes = new ArrayList<>();
+        for (AnnotationMirror annotation : unitElement.getAnnotationMirrors()) {
+            TypeElement annotationElement = (TypeElement) annotation.getAnnotationType().asElement();
+            if (!annotationElement.getQualifiedName().contentEquals(Wiring.class.getCanonicalName())) {
+                continue;
+            }
+            for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : annotation.getElementValues().entrySet()) {
+                if (!entry.getKey().getSimpleName().contentEquals(name)) {
+                    continue;
+                }
+                for (Object value : (List<?>) entry.getValue().getValue()) {
+                    TypeMirror type = (TypeMirror) ((AnnotationValue) value).getValue();
+                    classes.add((TypeElement) ((DeclaredType) type).asElement());
+                }
+            }
+        }
+        return classes;
+    }
+
+    private List<TypeElement> getSuperClasses(TypeElement classElement, TypeElement baseElement) {
+        Types types = processingEnv.getTypeUtils();
+        List<TypeElement> superClasses = new ArrayList<>();
+        Set<String> visited = new HashSet<>();
+        Deque<TypeElement> queue = new ArrayDeque<>();
+        superClasses.add(classElement);
+        visited.add(classElement.getQualifiedName().toString());
+        queue.add(classElement);
+        while (!queue.isEmpty()) {
+            TypeElement currentElement = queue.poll();
+            for (TypeMirror superType : types.directSupertypes(currentElement.asType())) {
+                if (!isSubtype(superType, baseElement)) {
+                    continue;
+                }
+                TypeElement superElement = (TypeElement) types.asElement(superType);
+                if (visited.add(superElement.getQualifiedName().toString())) {
+                    superClasses.add(superElement);
+                    queue.add(superElement);
+                }
+            }
+        }
+        return superClasses;
+    }
+
+    private String getWiringName(TypeElement unitElement) {
+        StringBuilder builder = new StringBuilder(unitElement.getSimpleName());
+        Element enclosing = unitElement.getEnclosingElement();
+        while (enclosing instanceof TypeElement) {
+            builder.insert(0, '_').insert(0, enclosing.getSimpleName());
+            enclosing = enclosing.getEnclosingElement();
+        }
+        return builder.append("Wiring").toString();
+    }
+
+    private void generate(TypeElement unitElement, List<TypeElement> features, TypeElement featureElement, List<TypeElement> gameStates, TypeElement gameStateElement) throws IOException {
+        Set<String> accessorNames = new HashSet<>();
+        for (TypeElement classElement : features) {
+            if (!accessorNames.add(classElement.getSimpleName().toString())) {
+                error(unitElement, "Duplicated simple name of the listed classes: " + classElement.getSimpleName());
+                return;
+            }
+        }
+        for (TypeElement classElement : gameStates) {
+            if (!accessorNames.add(classElement.getSimpleName().toString())) {
+                error(unitElement, "Duplicated simple name of the listed classes: " + classElement.getSimpleName());
+                return;
+            }
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(unitElement).getQualifiedName().toString();
+        String wiringName = getWiringName(unitElement);
+        String qualifiedName = packageName.isEmpty() ? wiringName : packageName + "." + wiringName;
+
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("/**\n")
+                .append(" * The wiring of {@link ").append(unitElement.getQualifiedName()).append("}.\n")
+                .append(" * Generated by ").append(WiringProcessor.class.getName()).append(", do not edit.\n")
+                .append(" */\n")
+                .append("public final class ").append(wiringName).append(" implements ").append(TYPE_HIERARCHY).append(" {\n")
+                .append("    /**\n")
+                .append("     * The instance to return from {@link ").append(FEATURE_UNIT).append("#getTypeHierarchy()}\n")
+                .append("     */\n")
+                .append("    public static final ").append(wiringName).append(" INSTANCE = new ").append(wiringName).append("();\n")
+                .append("    private static final java.util.Map<Class<?>, java.util.List<Class<? extends ").append(GAME_STATE).append(">>> GAME_STATE_SUPER_CLASSES = new java.util.IdentityHashMap<>();\n")
+                .append("    private static final java.util.Map<Class<?>, java.util.List<Class<? extends ").append(FEATURE).append(">>> FEATURE_SUPER_CLASSES = new java.util.IdentityHashMap<>();\n\n")
+                .append("    static {\n");
+        appendSuperClasses(source, "GAME_STATE_SUPER_CLASSES", GAME_STATE, gameStates, gameStateElement);
+        appendSuperClasses(source, "FEATURE_SUPER_CLASSES", FEATURE, features, featureElement);
+        source.append("    }\n\n")
+                .append("    private ").append(wiringName).append("() {\n")
+                .append("    }\n\n");
+
+        for (TypeElement classElement : features) {
+            appendAccessor(source, classElement, "getFeature");
+        }
+        for (TypeElement classElement : gameStates) {
+            appendAccessor(source, classElement, "getGameState");
+        }
+
+        source.append("    @Override\n")
+                .append("    public java.util.List<Class<? extends ").append(GAME_STATE).append(">> getGameStateSuperClasses(Class<? extends ").append(GAME_STATE).append("> gameStateClass) {\n")
+                .append("        return GAME_STATE_SUPER_CLASSES.get(gameStateClass);\n")
+                .append("    }\n\n")
+                .append("    @Override\n")
+                .append("    public java.util.List<Class<? extends ").append(FEATURE).append(">> getFeatureSuperClasses(Class<? extends ").append(FEATURE).append("> featureClass) {\n")
+                .append("        return FEATURE_SUPER_CLASSES.get(featureClass);\n")
+                .append("    }\n")
+                .append("}\n");
+
+        try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedName, unitElement).openWriter()) {
+            writer.write(source.toString());
+        }
+    }
+
+    private void appendSuperClasses(StringBuilder source, String mapName, String baseName, List<TypeElement> classes, TypeElement baseElement) {
+        for (TypeElement classElement : classes) {
+            source.append("        ").append(mapName).append(".put(").append(classElement.getQualifiedName()).append(".class, java.util.Collections.unmodifiableList(java.util.Arrays.<Class<? extends ").append(baseName).append(">>asList(");
+            List<TypeElement> superClasses = getSuperClasses(classElement, baseElement);
+            for (int i = 0; i < superClasses.size(); i++) {
+                if (i > 0) {
+                    source.append(", ");
+                }
+                source.append(superClasses.get(i).getQualifiedName()).append(".class");
+            }
+            source.append(")));\n");
+        }
+    }
+
+    private void appendAccessor(StringBuilder source, TypeElement classElement, String lookupMethod) {
+        String className = classElement.getQualifiedName().toString();
+        source.append("    /**\n")
+                .append("     * Get the instance of {@link ").append(className).append("} from the unit\n")
+                .append("     *\n")
+                .append("     * @param unit the unit\n")
+                .append("     * @return the instance, or null if not present\n")
+                .append("     */\n")
+                .append("    public static ").append(className).append(" get").append(classElement.getSimpleName()).append("(").append(FEATURE_UNIT).append(" unit) {\n")
+                .append("        return unit.").append(lookupMethod).append("(").append(className).append(".class);\n")
+                .append("    }\n\n");
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * The annotation processor that generates the wiring of the features and the game states at compile time
+ */
+package io.github.projectunified.minigamecore.processor;
@@ -1,19 +1,25 @@
 package io.github.projectunified.minigamecore.standalone;
 
 import io.github.projectunified.minigamecore.base.Arena;
+import io.github.projectunified.minigamecore.base.ArenaTask;
 import io.github.projectunified.minigamecore.base.FeatureUnit;
+import io.github.projectunified.minigamecore.base.GameState;
 import io.github.projectunified.minigamecore.extra.TimePeriod;
 
 import java.util.List;
 import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
 
 /**
- * The standalone {@link Arena}
+ * The standalone {@link Arena}.
+ * The arena is run by the {@link StandaloneScheduler} from {@link #getScheduler()}.
+ * The scheduled task is cancelled while the arena is sleeping, and the arena is scheduled again right after it's woken up.
+ * {@link #getPeriod()} and {@link #getDelay()} will return the time in milliseconds.
+ * If the current {@link GameState} implements {@link TimePeriod}, its period is used instead while the state is active.
  */
 public abstract class StandaloneArena extends Arena implements TimePeriod {
-    private final Timer timer = new Timer();
-    private TimerTask timerTask;
+    private volatile Timer timer;
+    private final ArenaTask task = new ArenaTask(this, this::scheduleTask, state -> getTimePeriod(state).getDelay(), state -> getTimePeriod(state).getPeriod(), 0);
 
     /**
      * Create a new arena
@@ -33,30 +39,87 @@ public abstract class StandaloneArena extends Arena implements TimePeriod {
         super(parent);
     }
 
+    /**
+     * Get the scheduler to run the arena.
+     * Default will take the {@link StandaloneScheduler} feature from the unit or its parents,
+     * or {@link StandaloneScheduler#getDefault()} if not present.
+     *
+     * @return the scheduler
+     */
+    public StandaloneScheduler getScheduler() {
+        StandaloneScheduler scheduler = getFeature(StandaloneScheduler.class);
+        return scheduler != null ? scheduler : StandaloneScheduler.getDefault();
+    }
+
+    /**
+     * Get the key to pin the arena to a shard of the scheduler.
+     * Default is the arena itself, whose identity hash code differs on every run,
+     * so the arena lands on an arbitrary shard and a new instance of the same arena may land on another one.
+     * Subclasses must override this to return a stable key, such as the identifier of the arena, for the arena to be pinned to the same shard.
+     *
+     * @return the key
+     */
+    protected Object getSchedulerKey() {
+        return this;
+    }
+
+    private TimePeriod getTimePeriod(GameState state) {
+        return state instanceof TimePeriod ? (TimePeriod) state : this;
+    }
+
+    private ArenaTask.Handle scheduleTask(long delay, long period) {
+        ScheduledFuture<?> future = getScheduler().schedule(getSchedulerKey(), this, delay, period);
+        return () -> future.cancel(false);
+    }
+
     @Override
     protected void initArena() {
-        this.timerTask = new TimerTask() {
-            @Override
-            public void run() {
-                StandaloneArena.this.run();
-            }
-        };
-        this.timer.schedule(timerTask, this.getDelay(), this.getPeriod());
+        task.start();
+    }
+
+    @Override
+    protected void onSleep() {
+        task.cancel();
+    }
+
+    @Override
+    protected void onWake() {
+        task.wake();
+    }
+
+    @Override
+    protected void onStateChanged(GameState oldState, GameState newState) {
+        task.reschedule(newState);
     }
 
     @Override
     protected void clearArena() {
-        if (this.timerTask != null) {
-            this.timerTask.cancel();
+        task.cancel();
+        if (this.timer != null) {
+            this.timer.cancel();
+            this.timer = null;
         }
     }
 
     /**
-     * Get the timer
+     * Get the timer.
+     * The timer is no longer used to run the arena. It is created on demand and cancelled when the arena is cleared.
      *
      * @return the timer
+     * @deprecated the arena is run by {@link #getScheduler()}
      */
+    @Deprecated
     public Timer getTimer() {
-        return this.timer;
+        Timer currentTimer = this.timer;
+        if (currentTimer == null) {
+            synchronized (this) {
+                currentTimer = this.timer;
+                if (currentTimer == null) {
+                    currentTimer = new Timer();
+                    this.timer = currentTimer;
+                }
+            }
+        }
+        return currentTimer;
     }
 }
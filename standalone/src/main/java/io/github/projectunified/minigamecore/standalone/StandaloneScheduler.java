@@ -0,0 +1,178 @@
+package io.github.projectunified.minigamecore.standalone;
+
+import io.github.projectunified.minigamecore.base.Feature;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The scheduler that runs the {@link StandaloneArena}.
+ * The tasks are spread across a fixed number of shards, each shard is backed by a single worker thread.
+ * A task is pinned to a shard by its key, so the tasks of the same key always run on the same thread.
+ * The worker threads are started by {@link #init()} and stopped by {@link #clear()}, so the scheduler can be initialized again after it's cleared.
+ * Register it as a {@link Feature} of a parent unit (e.g. the arena manager) to share it with the arenas,
+ * otherwise the arenas will use {@link #getDefault()}.
+ */
+public class StandaloneScheduler implements Feature {
+    private static final Logger LOGGER = Logger.getLogger(StandaloneScheduler.class.getName());
+    private static final AtomicInteger SCHEDULER_COUNT = new AtomicInteger();
+    private static volatile StandaloneScheduler defaultScheduler;
+
+    private final int schedulerId;
+    private final int shardCount;
+    private volatile ScheduledThreadPoolExecutor[] shards;
+
+    /**
+     * Create a new scheduler
+     *
+     * @param shardCount the number of shards (worker threads)
+     */
+    public StandaloneScheduler(int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("The shard count must be positive");
+        }
+        this.schedulerId = SCHEDULER_COUNT.incrementAndGet();
+        this.shardCount = shardCount;
+    }
+
+    /**
+     * Create a new scheduler with the number of shards equal to the number of available processors
+     */
+    public StandaloneScheduler() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Get the default scheduler, which is shared by all arenas that are not under a unit having a {@link StandaloneScheduler}
+     *
+     * @return the default scheduler
+     */
+    public static StandaloneScheduler getDefault() {
+        StandaloneScheduler scheduler = defaultScheduler;
+        if (scheduler == null) {
+            synchronized (StandaloneScheduler.class) {
+                scheduler = defaultScheduler;
+                if (scheduler == null) {
+                    scheduler = new StandaloneScheduler();
+                    scheduler.init();
+                    defaultScheduler = scheduler;
+                }
+            }
+        }
+        return scheduler;
+    }
+
+    /**
+     * Get the number of shards
+     *
+     * @return the number of shards
+     */
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    /**
+     * Get the index of the shard that the key is pinned to
+     *
+     * @param key the key
+     * @return the index of the shard
+     */
+    public int getShardIndex(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        hash ^= (hash >>> 16);
+        return Math.floorMod(hash, shardCount);
+    }
+
+    /**
+     * Schedule a repeating task.
+     * The task is run with a fixed delay between the end of a run and the start of the next one.
+     * The errors thrown by the task are logged, and the task keeps running.
+     * Cancel the returned future to release the task from the scheduler.
+     *
+     * @param key    the key to pin the task to a shard
+     * @param task   the task
+     * @param delay  the delay in milliseconds before the first run
+     * @param period the period in milliseconds between the runs
+     * @return the future of the task
+     * @throws IllegalStateException if the scheduler is not running
+     */
+    public ScheduledFuture<?> schedule(Object key, Runnable task, long delay, long period) {
+        ScheduledThreadPoolExecutor[] currentShards = this.shards;
+        if (currentShards == null) {
+            throw new IllegalStateException("The scheduler is not running");
+        }
+        return currentShards[getShardIndex(key)].scheduleWithFixedDelay(() -> {
+            try {
+                task.run();
+            } catch (Throwable throwable) {
+                LOGGER.log(Level.WARNING, "There is an error when running the scheduled task", throwable);
+            }
+        }, Math.max(0, delay), period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Check if the scheduler is running
+     *
+     * @return true if it is
+     */
+    public boolean isRunning() {
+        return shards != null;
+    }
+
+    /**
+     * Check if the scheduler is shut down, or not initialized yet
+     *
+     * @return true if it is
+     */
+    public boolean isShutdown() {
+        return !isRunning();
+    }
+
+    /**
+     * Shut down the scheduler. All scheduled tasks will be discarded
+     */
+    public void shutdown() {
+        ScheduledThreadPoolExecutor[] currentShards;
+        synchronized (this) {
+            currentShards = this.shards;
+            this.shards = null;
+        }
+        if (currentShards != null) {
+            for (ScheduledThreadPoolExecutor shard : currentShards) {
+                shard.shutdownNow();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void init() {
+        if (this.shards != null) {
+            return;
+        }
+        ScheduledThreadPoolExecutor[] newShards = new ScheduledThreadPoolExecutor[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            String threadName = "MinigameCore-Scheduler-" + schedulerId + "-" + i;
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            newShards[i] = executor;
+        }
+        this.shards = newShards;
+    }
+
+    @Override
+    public void clear() {
+        if (this != defaultScheduler) {
+            shutdown();
+        }
+    }
+}